@@ -1,8 +1,14 @@
 package edu.senla.controller;
 
 import edu.senla.model.dto.ContainerComponentsParamsDTO;
+import edu.senla.model.dto.OptimalContainerDTO;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface CalculatorController {
 
     ContainerComponentsParamsDTO getWeightOfProductsInContainer(String containerComponentsJson);
+
+    StreamingResponseBody getWeightOfProductsInContainers(String containerComponentsListJson);
+
+    OptimalContainerDTO getOptimalContainer(String containerMacroTargetsJson);
 }
@@ -4,9 +4,12 @@ import com.fasterxml.jackson.core.JsonParseException;
 import edu.senla.exeption.BadRequest;
 import edu.senla.exeption.ConflictBetweenData;
 import edu.senla.exeption.NotFound;
+import edu.senla.exeption.ServiceUnavailable;
 import edu.senla.model.dto.ErrorDTO;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
@@ -30,6 +33,12 @@ public class ControllerAdvice {
         return new ErrorDTO(conflictBetweenData.getMessage());
     }
 
+    @ExceptionHandler(ServiceUnavailable.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorDTO serviceUnavailable(ServiceUnavailable serviceUnavailable) {
+        return new ErrorDTO(serviceUnavailable.getMessage());
+    }
+
     @ExceptionHandler(JsonParseException.class)
     public ErrorDTO jsonParseException() {
         ResponseEntity.badRequest();
@@ -1,6 +1,8 @@
 package edu.senla.controller;
 
 import edu.senla.model.dto.CourierCurrentOrderInfoDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
 
 public interface CourierWorkflowController {
 
@@ -8,5 +10,9 @@ public interface CourierWorkflowController {
 
     void changeStatus();
 
+    void updateLocation(String courierLocationJson);
+
     CourierCurrentOrderInfoDTO getNewOrder();
+
+    DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> awaitNewOrder();
 }
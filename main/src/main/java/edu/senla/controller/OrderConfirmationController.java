@@ -6,5 +6,5 @@ public interface OrderConfirmationController {
 
     void confirmReceiptOfTheOrderClient(long orderId);
 
-    OrderClosingResponseDTO closeOrderCourier();
+    OrderClosingResponseDTO closeOrderCourier(Long orderId);
 }
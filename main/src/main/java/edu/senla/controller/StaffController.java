@@ -1,10 +1,25 @@
 package edu.senla.controller;
 
 import edu.senla.model.dto.CourierPerformanceIndicatorDTO;
+import edu.senla.model.dto.CourierRatingDTO;
+import edu.senla.model.dto.DeliverySlaStatisticsDTO;
+import edu.senla.model.dto.DispatcherStatisticsDTO;
+import edu.senla.model.dto.OrdersAssignmentResultDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 public interface StaffController {
 
     CourierPerformanceIndicatorDTO getCouriersPerformanceIndicator(long id);
 
-    void assignOrdersToAllCouriers();
+    List<CourierRatingDTO> getCouriersRating(String sortBy, Double afterValue, Long after, int limit);
+
+    OrdersAssignmentResultDTO assignOrdersToAllCouriers();
+
+    DispatcherStatisticsDTO getDispatcherStatistics();
+
+    DeliverySlaStatisticsDTO getDeliverySlaStatistics();
+
+    SseEmitter subscribeToDeliverySlaEvents();
 }
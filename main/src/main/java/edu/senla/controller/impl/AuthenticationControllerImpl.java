@@ -2,8 +2,6 @@ package edu.senla.controller.impl;
 
 import edu.senla.controller.AuthenticationController;
 import edu.senla.model.dto.AuthResponseDTO;
-import edu.senla.model.dto.UserFullInfoDTO;
-import edu.senla.model.dto.CourierFullInfoDTO;
 import edu.senla.security.JwtProvider;
 import edu.senla.service.ClientService;
 import edu.senla.service.CourierService;
@@ -24,15 +22,13 @@ public class AuthenticationControllerImpl implements AuthenticationController {
 
     @GetMapping(value = "/clients")
     public AuthResponseDTO authenticateClient(@RequestBody String authRequestJson) {
-        UserFullInfoDTO clientDTO = clientService.getClientByUsernameAndPassword(authRequestJson);
-        String token = jwtProvider.generateToken(clientDTO.getUsername());
+        String token = jwtProvider.generateToken(clientService.getClientPrincipalByUsernameAndPassword(authRequestJson));
         return new AuthResponseDTO(token);
     }
 
     @GetMapping(value = "/couriers")
     public AuthResponseDTO authenticateCourier(@RequestBody String authRequestCourierJson) {
-        CourierFullInfoDTO courierDTO = courierService.getCourierByPhoneAndPassword(authRequestCourierJson);
-        String token = jwtProvider.generateToken(courierDTO.getPhone());
+        String token = jwtProvider.generateToken(courierService.getCourierPrincipalByPhoneAndPassword(authRequestCourierJson));
         return new AuthResponseDTO(token);
     }
 }
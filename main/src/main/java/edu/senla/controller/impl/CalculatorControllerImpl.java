@@ -1,14 +1,23 @@
 package edu.senla.controller.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.senla.controller.CalculatorController;
 import edu.senla.model.dto.ContainerComponentsParamsDTO;
+import edu.senla.model.dto.ContainerParamsCalculationDTO;
+import edu.senla.model.dto.OptimalContainerDTO;
+import edu.senla.service.ContainerOptimizationService;
 import edu.senla.service.ContainerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/calculations")
@@ -16,10 +25,33 @@ import org.springframework.web.bind.annotation.RestController;
 public class CalculatorControllerImpl implements CalculatorController {
 
     private final ContainerService containerService;
+    private final ContainerOptimizationService containerOptimizationService;
+    private final ObjectMapper objectMapper;
 
     @Secured({"ROLE_USER"})
     @GetMapping(value = "/containerParams")
     public ContainerComponentsParamsDTO getWeightOfProductsInContainer(@RequestBody String containerComponentsJson) {
         return containerService.calculateWeightOfDishes(containerComponentsJson);
     }
+
+    @Secured({"ROLE_USER"})
+    @GetMapping(value = "/containerParams/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody getWeightOfProductsInContainers(@RequestBody String containerComponentsListJson) {
+        List<ContainerParamsCalculationDTO> calculations = containerService.calculateWeightOfDishesInBatch(containerComponentsListJson);
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                for (ContainerParamsCalculationDTO calculation : calculations) {
+                    generator.writeObject(calculation);
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    @Secured({"ROLE_USER"})
+    @GetMapping(value = "/optimalContainer")
+    public OptimalContainerDTO getOptimalContainer(@RequestBody String containerMacroTargetsJson) {
+        return containerOptimizationService.findOptimalContainer(containerMacroTargetsJson);
+    }
 }
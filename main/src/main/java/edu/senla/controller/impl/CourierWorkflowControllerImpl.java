@@ -2,13 +2,18 @@ package edu.senla.controller.impl;
 
 import edu.senla.controller.CourierWorkflowController;
 import edu.senla.model.dto.CourierCurrentOrderInfoDTO;
+import edu.senla.service.CourierLocationIngestionService;
+import edu.senla.service.CourierOrderAwaitingService;
 import edu.senla.service.CourierService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RestController
 @RequiredArgsConstructor
@@ -16,6 +21,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class CourierWorkflowControllerImpl implements CourierWorkflowController {
 
     private final CourierService courierService;
+    private final CourierOrderAwaitingService courierOrderAwaitingService;
+    private final CourierLocationIngestionService courierLocationIngestionService;
 
     @Secured({"ROLE_COURIER"})
     @GetMapping(value = "/order")
@@ -31,6 +38,13 @@ public class CourierWorkflowControllerImpl implements CourierWorkflowController
         courierService.changeCourierStatus(id);
     }
 
+    @Secured({"ROLE_COURIER"})
+    @PutMapping(value = "/location")
+    public void updateLocation(@RequestBody String courierLocationJson) {
+        long id = courierService.getCurrentCourierId();
+        courierLocationIngestionService.acceptLocation(id, courierLocationJson);
+    }
+
     @Secured({"ROLE_COURIER"})
     @PutMapping(value = "/orders")
     public CourierCurrentOrderInfoDTO getNewOrder() {
@@ -38,4 +52,11 @@ public class CourierWorkflowControllerImpl implements CourierWorkflowController
         courierService.assignNewOrdersToCourier(id);
         return courierService.getCurrentOrderForCourier(id);
     }
+
+    @Secured({"ROLE_COURIER"})
+    @PutMapping(value = "/orders/awaiting")
+    public DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> awaitNewOrder() {
+        long id = courierService.getCurrentCourierId();
+        return courierOrderAwaitingService.awaitNewOrder(id);
+    }
 }
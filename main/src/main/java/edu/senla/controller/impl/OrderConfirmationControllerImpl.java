@@ -10,6 +10,7 @@ import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -30,8 +31,8 @@ public class OrderConfirmationControllerImpl implements OrderConfirmationControl
 
     @Secured({"ROLE_COURIER"})
     @PatchMapping
-    public OrderClosingResponseDTO closeOrderCourier() {
+    public OrderClosingResponseDTO closeOrderCourier(@RequestParam(value = "orderId", required = false) Long orderId) {
         long id = courierService.getCurrentCourierId();
-        return orderService.closeOrderForCourier(id);
+        return orderService.closeOrderForCourier(id, orderId);
     }
 }
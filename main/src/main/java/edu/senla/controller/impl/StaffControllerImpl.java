@@ -1,22 +1,30 @@
 package edu.senla.controller.impl;
 
 import edu.senla.controller.StaffController;
-import edu.senla.model.dto.CourierBasicInfoDTO;
 import edu.senla.model.dto.CourierPerformanceIndicatorDTO;
+import edu.senla.model.dto.CourierRatingDTO;
+import edu.senla.model.dto.DeliverySlaStatisticsDTO;
+import edu.senla.model.dto.DispatcherStatisticsDTO;
+import edu.senla.model.dto.OrdersAssignmentResultDTO;
+import edu.senla.scheduler.AutoDispatchScheduler;
+import edu.senla.scheduler.DeliverySlaMonitor;
 import edu.senla.service.CourierService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
-
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/staff")
 public class StaffControllerImpl implements StaffController {
 
     private final CourierService courierService;
+    private final AutoDispatchScheduler autoDispatchScheduler;
+    private final DeliverySlaMonitor deliverySlaMonitor;
 
     @Secured({"ROLE_ADMIN"})
     @GetMapping(value = "{id}")
@@ -24,10 +32,36 @@ public class StaffControllerImpl implements StaffController {
         return courierService.getCourierPerformanceIndicator(id);
     }
 
+    @Secured({"ROLE_ADMIN"})
+    @GetMapping
+    public List<CourierRatingDTO> getCouriersRating(@RequestParam(value = "sortBy", required = false, defaultValue = "delivered") String sortBy,
+                                                    @RequestParam(value = "afterValue", required = false) Double afterValue,
+                                                    @RequestParam(value = "after", required = false) Long after,
+                                                    @RequestParam(value = "limit", required = false, defaultValue = "20") int limit) {
+        return courierService.getCouriersRating(sortBy, afterValue, after, limit);
+    }
+
     @Secured({"ROLE_ADMIN"})
     @PutMapping
-    public void assignOrdersToAllCouriers() {
-        List<CourierBasicInfoDTO> courierBasicInfoDTOS = courierService.getAllActiveCouriersDTO();
-        courierService.assignOrdersToAllActiveCouriers(courierBasicInfoDTOS);
+    public OrdersAssignmentResultDTO assignOrdersToAllCouriers() {
+        return courierService.assignOrdersToAllActiveCouriers();
+    }
+
+    @Secured({"ROLE_ADMIN"})
+    @GetMapping(value = "/dispatcher")
+    public DispatcherStatisticsDTO getDispatcherStatistics() {
+        return autoDispatchScheduler.getStatistics();
+    }
+
+    @Secured({"ROLE_ADMIN"})
+    @GetMapping(value = "/sla")
+    public DeliverySlaStatisticsDTO getDeliverySlaStatistics() {
+        return deliverySlaMonitor.getStatistics();
+    }
+
+    @Secured({"ROLE_ADMIN"})
+    @GetMapping(value = "/sla/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToDeliverySlaEvents() {
+        return deliverySlaMonitor.subscribe();
     }
 }
@@ -0,0 +1,12 @@
+package edu.senla.dao;
+
+import edu.senla.model.dto.CourierLocationPingDTO;
+
+import java.util.List;
+
+public interface CourierLocationHistoryRepository {
+
+    int[] saveLocations(List<CourierLocationPingDTO> locations);
+
+    int[] updateLatestCourierLocations(List<CourierLocationPingDTO> locations, List<Integer> zones);
+}
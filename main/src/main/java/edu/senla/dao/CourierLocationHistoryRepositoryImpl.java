@@ -0,0 +1,36 @@
+package edu.senla.dao;
+
+import edu.senla.model.dto.CourierLocationPingDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CourierLocationHistoryRepositoryImpl implements CourierLocationHistoryRepository {
+
+    private static final String insertLocationSql = "INSERT INTO courier_locations (courier_id, latitude, longitude, recorded_at) VALUES (?, ?, ?, ?)";
+    private static final String updateCourierLocationSql = "UPDATE couriers SET latitude = ?, longitude = ?, zone = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int[] saveLocations(List<CourierLocationPingDTO> locations) {
+        List<Object[]> rows = locations.stream()
+                .map(l -> new Object[]{l.getCourierId(), l.getLatitude(), l.getLongitude(), Timestamp.valueOf(l.getRecordedAt())})
+                .toList();
+        return jdbcTemplate.batchUpdate(insertLocationSql, rows);
+    }
+
+    public int[] updateLatestCourierLocations(List<CourierLocationPingDTO> locations, List<Integer> zones) {
+        List<Object[]> rows = new ArrayList<>(locations.size());
+        for (int i = 0; i < locations.size(); i++) {
+            CourierLocationPingDTO location = locations.get(i);
+            rows.add(new Object[]{location.getLatitude(), location.getLongitude(), zones.get(i), location.getCourierId()});
+        }
+        return jdbcTemplate.batchUpdate(updateCourierLocationSql, rows);
+    }
+}
@@ -0,0 +1,8 @@
+package edu.senla.dao;
+
+public interface CourierPasswordRepository {
+
+    String getPasswordByPhone(String phone);
+
+    int updatePasswordByPhoneIfUnchanged(String phone, String oldPassword, String newPassword);
+}
@@ -0,0 +1,24 @@
+package edu.senla.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CourierPasswordRepositoryImpl implements CourierPasswordRepository {
+
+    private static final String selectPasswordSql = "SELECT password FROM couriers WHERE phone = ?";
+    private static final String updatePasswordSql = "UPDATE couriers SET password = ? WHERE phone = ? AND password = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public String getPasswordByPhone(String phone) {
+        List<String> passwords = jdbcTemplate.queryForList(selectPasswordSql, String.class, phone);
+        return passwords.isEmpty() ? null : passwords.get(0);
+    }
+
+    public int updatePasswordByPhoneIfUnchanged(String phone, String oldPassword, String newPassword) {
+        return jdbcTemplate.update(updatePasswordSql, newPassword, phone, oldPassword);
+    }
+}
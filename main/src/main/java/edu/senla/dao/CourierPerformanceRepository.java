@@ -0,0 +1,40 @@
+package edu.senla.dao;
+
+import edu.senla.model.entity.CourierPerformance;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+@Repository
+public interface CourierPerformanceRepository extends JpaRepository<CourierPerformance, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT performance FROM CourierPerformance performance WHERE performance.courierId =?1")
+    CourierPerformance getForUpdateByCourierId(long courierId);
+
+    String couriersWithPerformance = "FROM Courier courier LEFT JOIN CourierPerformance performance ON performance.courierId = courier.id ";
+
+    String deliveredSortKey = "CAST(COALESCE(performance.numberOfOrdersDelivered, 0) AS double)";
+
+    String onTimeSortKey = "COALESCE(CAST(performance.numberOfOrdersDeliveredOnTime AS double) / NULLIF(performance.numberOfOrdersDelivered, 0) * 100, 0.0)";
+
+    String perDaySortKey = "COALESCE(CAST(performance.numberOfOrdersDelivered AS double) / NULLIF(performance.numberOfWorkingDays, 0), 0.0)";
+
+    @Query("SELECT courier, performance, " + deliveredSortKey + " AS sortKey " + couriersWithPerformance + "WHERE " + deliveredSortKey + " <?1 OR (" + deliveredSortKey + " =?1 AND courier.id >?2) " +
+            "ORDER BY sortKey DESC, courier.id ASC")
+    List<Object[]> getCouriersWithPerformanceAfterByDelivered(double sortValue, long courierId, Pageable pageable);
+
+    @Query("SELECT courier, performance, " + onTimeSortKey + " AS sortKey " + couriersWithPerformance + "WHERE " + onTimeSortKey + " <?1 OR (" + onTimeSortKey + " =?1 AND courier.id >?2) " +
+            "ORDER BY sortKey DESC, courier.id ASC")
+    List<Object[]> getCouriersWithPerformanceAfterByOnTime(double sortValue, long courierId, Pageable pageable);
+
+    @Query("SELECT courier, performance, " + perDaySortKey + " AS sortKey " + couriersWithPerformance + "WHERE " + perDaySortKey + " <?1 OR (" + perDaySortKey + " =?1 AND courier.id >?2) " +
+            "ORDER BY sortKey DESC, courier.id ASC")
+    List<Object[]> getCouriersWithPerformanceAfterByPerDay(double sortValue, long courierId, Pageable pageable);
+
+}
@@ -2,16 +2,30 @@ package edu.senla.dao;
 
 import edu.senla.model.entity.Courier;
 import edu.senla.model.enums.CourierStatus;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface CourierRepository extends JpaRepository<Courier, Long> {
+public interface CourierRepository extends JpaRepository<Courier, Long>, CourierPasswordRepository {
 
     Courier getByPhone(String phone);
 
-    List<Courier> getByStatus(CourierStatus status, Pageable pageable);
+    @Query("SELECT courier.id FROM Courier courier WHERE courier.status =?1")
+    List<Long> getIdsByStatus(CourierStatus status);
+
+    @Query("SELECT courier.id FROM Courier courier WHERE courier.status =?1 AND courier.zone =?2")
+    List<Long> getIdsByStatusAndZone(CourierStatus status, int zone);
+
+    @Modifying
+    @Query("UPDATE Courier courier SET courier.zone = 0 WHERE courier.zone >=?1")
+    int resetZoneIfZoneIsNotLessThan(int numberOfZones);
+
+    List<Courier> getAllByLatitudeNotNullAndLongitudeNotNull();
+
+    @Query("SELECT courier.tokenVersion FROM Courier courier WHERE courier.id =?1")
+    Integer getTokenVersionById(long id);
 }
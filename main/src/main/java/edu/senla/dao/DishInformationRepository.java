@@ -3,9 +3,12 @@ package edu.senla.dao;
 import edu.senla.model.entity.DishInformation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DishInformationRepository extends JpaRepository<DishInformation, Long>, JpaSpecificationExecutor<DishInformation> {
 
+    @Query("SELECT dishInformation.dish.id FROM DishInformation dishInformation WHERE dishInformation.id =?1")
+    Long getDishIdById(long id);
 }
@@ -5,6 +5,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface DishRepository extends JpaRepository<Dish, Long> {
 
@@ -12,4 +15,10 @@ public interface DishRepository extends JpaRepository<Dish, Long> {
 
     @Query("SELECT dish.name FROM Dish dish WHERE dish.id =?1")
     String getNameById(long id);
+
+    @Query("SELECT dish FROM Dish dish LEFT JOIN FETCH dish.dishInformation")
+    List<Dish> getAllWithDishInformation();
+
+    @Query("SELECT dish FROM Dish dish LEFT JOIN FETCH dish.dishInformation WHERE dish.id IN ?1")
+    List<Dish> getAllWithDishInformationByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,12 @@
+package edu.senla.dao;
+
+import java.time.LocalDateTime;
+
+public interface DispatchZoneLeaseRepository {
+
+    void createMissingLeases(int numberOfZones);
+
+    boolean acquireLease(int zone, String owner, LocalDateTime now, LocalDateTime leaseUntil);
+
+    void releaseLease(int zone, String owner);
+}
@@ -0,0 +1,44 @@
+package edu.senla.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class DispatchZoneLeaseRepositoryImpl implements DispatchZoneLeaseRepository {
+
+    private static final String selectZonesSql = "SELECT zone FROM dispatch_zone_leases";
+    private static final String insertLeaseSql = "INSERT INTO dispatch_zone_leases (zone, owner, lease_until) VALUES (?, NULL, ?)";
+    private static final String acquireLeaseSql = "UPDATE dispatch_zone_leases SET owner = ?, lease_until = ? WHERE zone = ? AND (owner = ? OR owner IS NULL OR lease_until < ?)";
+    private static final String releaseLeaseSql = "UPDATE dispatch_zone_leases SET owner = NULL WHERE zone = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void createMissingLeases(int numberOfZones) {
+        Set<Integer> existingZones = new HashSet<>(jdbcTemplate.queryForList(selectZonesSql, Integer.class));
+        Timestamp expiredLease = Timestamp.valueOf(LocalDateTime.now());
+        for (int zone = 0; zone < numberOfZones; zone++) {
+            if (existingZones.contains(zone)) continue;
+            try {
+                jdbcTemplate.update(insertLeaseSql, zone, expiredLease);
+            } catch (DuplicateKeyException exception) {
+                // another instance created the lease row first
+            }
+        }
+    }
+
+    public boolean acquireLease(int zone, String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        return jdbcTemplate.update(acquireLeaseSql, owner, Timestamp.valueOf(leaseUntil), zone, owner, Timestamp.valueOf(now)) == 1;
+    }
+
+    public void releaseLease(int zone, String owner) {
+        jdbcTemplate.update(releaseLeaseSql, zone, owner);
+    }
+}
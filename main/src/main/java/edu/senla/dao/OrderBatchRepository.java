@@ -0,0 +1,8 @@
+package edu.senla.dao;
+
+import java.util.List;
+
+public interface OrderBatchRepository {
+
+    int[] assignCouriersToNewOrders(List<Long> orderIds, List<Long> courierIds, List<Integer> tripSequences);
+}
@@ -0,0 +1,52 @@
+package edu.senla.dao;
+
+import edu.senla.model.enums.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlParameterValue;
+
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class OrderBatchRepositoryImpl implements OrderBatchRepository {
+
+    private static final String assignCourierToNewOrderSql = "UPDATE orders SET courier_id = ?, status = ?, trip_sequence = ? WHERE id = ? AND status = ?";
+    private static final String selectCouriersOfOrdersSql = "SELECT id, courier_id FROM orders WHERE status = ? AND id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int[] assignCouriersToNewOrders(List<Long> orderIds, List<Long> courierIds, List<Integer> tripSequences) {
+        List<Object[]> assignments = new ArrayList<>(orderIds.size());
+        for (int i = 0; i < orderIds.size(); i++) {
+            SqlParameterValue tripSequence = new SqlParameterValue(Types.INTEGER, tripSequences.get(i));
+            assignments.add(new Object[]{courierIds.get(i), OrderStatus.IN_PROCESS.name(), tripSequence, orderIds.get(i), OrderStatus.NEW.name()});
+        }
+        int[] updatedRows = jdbcTemplate.batchUpdate(assignCourierToNewOrderSql, assignments);
+        recheckUnknownUpdates(updatedRows, orderIds, courierIds);
+        return updatedRows;
+    }
+
+    // some drivers report SUCCESS_NO_INFO for batched statements, which does not tell whether the status condition matched
+    private void recheckUnknownUpdates(int[] updatedRows, List<Long> orderIds, List<Long> courierIds) {
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(OrderStatus.IN_PROCESS.name());
+        for (int i = 0; i < updatedRows.length; i++) {
+            if (updatedRows[i] == Statement.SUCCESS_NO_INFO) parameters.add(orderIds.get(i));
+        }
+        if (parameters.size() == 1) return;
+        String sql = String.format(selectCouriersOfOrdersSql, String.join(", ", Collections.nCopies(parameters.size() - 1, "?")));
+        Map<Long, Long> couriersOfOrders = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> couriersOfOrders.put(rs.getLong("id"), rs.getLong("courier_id")), parameters.toArray());
+        for (int i = 0; i < updatedRows.length; i++) {
+            if (updatedRows[i] == Statement.SUCCESS_NO_INFO)
+                updatedRows[i] = courierIds.get(i).equals(couriersOfOrders.get(orderIds.get(i))) ? 1 : 0;
+        }
+    }
+}
@@ -6,23 +6,57 @@ import edu.senla.model.entity.Order;
 import edu.senla.model.enums.OrderStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderBatchRepository {
 
     @Query("SELECT order FROM Order order WHERE order.courier =?1 AND order.status =?2")
     Order getByCourierAndStatus(Courier courier, OrderStatus status);
 
     List<Order> getAllByCourier(Courier courier, Pageable pageable);
 
+    List<Order> getAllByCourierAndStatusInOrderByTripSequenceAsc(Courier courier, Collection<OrderStatus> statuses);
+
     List<Order> getAllByUser(User user, Pageable pageable);
 
-    List<Order> getByStatusOrderByTimeAsc(OrderStatus status);
+    long countByStatus(OrderStatus status);
+
+    long countByStatusAndZone(OrderStatus status, int zone);
+
+    List<Order> getAllByStatusIn(Collection<OrderStatus> statuses);
+
+    Order findFirstByCourierIdAndStatusIn(long courierId, Collection<OrderStatus> statuses);
+
+    @Query("SELECT customerOrder.id FROM Order customerOrder WHERE customerOrder.status =?1 ORDER BY customerOrder.date ASC, customerOrder.time ASC")
+    List<Long> getIdsByStatusOrderByDateAndTime(OrderStatus status, Pageable pageable);
+
+    @Query("SELECT customerOrder FROM Order customerOrder WHERE customerOrder.status =?1 ORDER BY customerOrder.date ASC, customerOrder.time ASC")
+    List<Order> getByStatusOrderByDateAndTime(OrderStatus status, Pageable pageable);
+
+    @Query("SELECT customerOrder FROM Order customerOrder JOIN FETCH customerOrder.user WHERE customerOrder.status =?1 ORDER BY customerOrder.date ASC, customerOrder.time ASC")
+    List<Order> getWithUserByStatusOrderByDateAndTime(OrderStatus status, Pageable pageable);
+
+    @Query("SELECT customerOrder FROM Order customerOrder WHERE customerOrder.status =?1 AND customerOrder.zone =?2 ORDER BY customerOrder.date ASC, customerOrder.time ASC")
+    List<Order> getByStatusAndZoneOrderByDateAndTime(OrderStatus status, int zone, Pageable pageable);
+
+    @Query("SELECT customerOrder FROM Order customerOrder JOIN FETCH customerOrder.user WHERE customerOrder.status =?1 AND customerOrder.zone =?2 ORDER BY customerOrder.date ASC, customerOrder.time ASC")
+    List<Order> getWithUserByStatusAndZoneOrderByDateAndTime(OrderStatus status, int zone, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Order customerOrder SET customerOrder.zone = 0 WHERE customerOrder.status =?1 AND customerOrder.zone >=?2")
+    int resetZoneIfZoneIsNotLessThan(OrderStatus status, int numberOfZones);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order customerOrder SET customerOrder.courier =?1, customerOrder.status =?4 WHERE customerOrder.id =?2 AND customerOrder.status =?3")
+    int updateCourierAndStatusIfStatusIs(Courier courier, long orderId, OrderStatus expectedStatus, OrderStatus newStatus);
 
-    @Query("SELECT order.courier FROM Order order WHERE order.status =?1")
-    List<Courier> getAllCouriersByStatus(OrderStatus status);
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order customerOrder SET customerOrder.tripSequence =?2 WHERE customerOrder.id =?1")
+    int updateTripSequence(long orderId, int tripSequence);
 }
@@ -5,11 +5,16 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface TypeOfContainerRepository extends JpaRepository<ContainerType, Long> {
 
     ContainerType getByName(String name);
 
+    List<ContainerType> getAllByNameIn(Collection<String> names);
+
     @Query("SELECT typeOfContainer.name FROM ContainerType typeOfContainer WHERE typeOfContainer.caloricContent =?1")
     String getNameById(long id);
 
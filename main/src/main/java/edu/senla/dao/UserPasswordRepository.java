@@ -0,0 +1,8 @@
+package edu.senla.dao;
+
+public interface UserPasswordRepository {
+
+    String getPasswordByUsername(String username);
+
+    int updatePasswordByUsernameIfUnchanged(String username, String oldPassword, String newPassword);
+}
@@ -0,0 +1,24 @@
+package edu.senla.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserPasswordRepositoryImpl implements UserPasswordRepository {
+
+    private static final String selectPasswordSql = "SELECT password FROM users WHERE username = ?";
+    private static final String updatePasswordSql = "UPDATE users SET password = ? WHERE username = ? AND password = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public String getPasswordByUsername(String username) {
+        List<String> passwords = jdbcTemplate.queryForList(selectPasswordSql, String.class, username);
+        return passwords.isEmpty() ? null : passwords.get(0);
+    }
+
+    public int updatePasswordByUsernameIfUnchanged(String username, String oldPassword, String newPassword) {
+        return jdbcTemplate.update(updatePasswordSql, newPassword, username, oldPassword);
+    }
+}
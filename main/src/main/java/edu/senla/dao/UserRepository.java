@@ -10,7 +10,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserPasswordRepository {
 
     User getByEmail(String email);
 
@@ -20,5 +20,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     User getByUsername(String username);
 
     List<User> getAllByRoles(Role role, Pageable pageable);
+
+    @Query("SELECT client.tokenVersion FROM User client WHERE client.id =?1")
+    Integer getTokenVersionById(long id);
 }
 
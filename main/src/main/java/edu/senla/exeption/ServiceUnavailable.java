@@ -0,0 +1,8 @@
+package edu.senla.exeption;
+
+public class ServiceUnavailable extends RuntimeException{
+
+    public ServiceUnavailable(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,188 @@
+package edu.senla.model.catalog;
+
+import edu.senla.model.entity.ContainerType;
+import edu.senla.model.entity.Dish;
+import edu.senla.model.entity.DishInformation;
+import edu.senla.model.enums.DishType;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// dishes are kept in parallel arrays ordered by id, addressed by the index from indexOfDish
+public final class MenuCatalogSnapshot {
+
+    private static final int maxIdsPerDish = 4;
+    private static final int minIndexedIds = 1024;
+
+    private final long version;
+    private final long[] dishIds;
+    private final DishType[] dishTypes;
+    private final String[] dishNames;
+    private final boolean[] dishHasInformation;
+    private final double[] proteins;
+    private final double[] fats;
+    private final double[] carbohydrates;
+    private final double[] caloricContents;
+    private final Map<String, ContainerTypeEntry> containerTypesByName;
+    private final Map<Long, ContainerTypeEntry> containerTypesById;
+    private int[] dishIndexesById;
+
+    private MenuCatalogSnapshot(long version, int numberOfDishes, Map<String, ContainerTypeEntry> containerTypesByName) {
+        this.version = version;
+        this.dishIds = new long[numberOfDishes];
+        this.dishTypes = new DishType[numberOfDishes];
+        this.dishNames = new String[numberOfDishes];
+        this.dishHasInformation = new boolean[numberOfDishes];
+        this.proteins = new double[numberOfDishes];
+        this.fats = new double[numberOfDishes];
+        this.carbohydrates = new double[numberOfDishes];
+        this.caloricContents = new double[numberOfDishes];
+        this.containerTypesByName = Map.copyOf(containerTypesByName);
+        Map<Long, ContainerTypeEntry> containerTypesById = new HashMap<>();
+        containerTypesByName.values().forEach(t -> containerTypesById.put(t.caloricContent(), t));
+        this.containerTypesById = Map.copyOf(containerTypesById);
+    }
+
+    public static MenuCatalogSnapshot of(long version, List<Dish> dishes, List<ContainerType> containerTypes) {
+        List<Dish> dishesById = dishes.stream().sorted(Comparator.comparingLong(Dish::getId)).toList();
+        MenuCatalogSnapshot snapshot = new MenuCatalogSnapshot(version, dishesById.size(), addContainerTypes(new HashMap<>(), containerTypes));
+        for (int i = 0; i < dishesById.size(); i++) {
+            snapshot.setDish(i, dishesById.get(i));
+        }
+        snapshot.indexDishes();
+        return snapshot;
+    }
+
+    // completes the catalog for a single request with rows this snapshot did not have
+    public MenuCatalogSnapshot withAdditions(List<Dish> dishes, List<ContainerType> containerTypes) {
+        List<Dish> addedDishes = dishes.stream().filter(d -> indexOfDish(d.getId()) < 0)
+                .sorted(Comparator.comparingLong(Dish::getId)).toList();
+        MenuCatalogSnapshot snapshot = new MenuCatalogSnapshot(version, dishIds.length + addedDishes.size(),
+                addContainerTypes(new HashMap<>(containerTypesByName), containerTypes));
+        int existing = 0;
+        int added = 0;
+        for (int i = 0; i < snapshot.dishIds.length; i++) {
+            if (added == addedDishes.size() || existing < dishIds.length && dishIds[existing] < addedDishes.get(added).getId()) {
+                snapshot.copyDishes(i, this, existing++, 1);
+            } else {
+                snapshot.setDish(i, addedDishes.get(added++));
+            }
+        }
+        snapshot.indexDishes();
+        return snapshot;
+    }
+
+    // a null dish removes it from the new snapshot
+    public MenuCatalogSnapshot withDish(long version, long dishId, Dish dish) {
+        int position = Arrays.binarySearch(dishIds, dishId);
+        int removed = position >= 0 ? 1 : 0;
+        int added = dish == null ? 0 : 1;
+        int insertionPoint = position >= 0 ? position : -position - 1;
+        MenuCatalogSnapshot snapshot = new MenuCatalogSnapshot(version, dishIds.length - removed + added, containerTypesByName);
+        snapshot.copyDishes(0, this, 0, insertionPoint);
+        if (dish != null) snapshot.setDish(insertionPoint, dish);
+        snapshot.copyDishes(insertionPoint + added, this, insertionPoint + removed, dishIds.length - insertionPoint - removed);
+        snapshot.indexDishes();
+        return snapshot;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getNumberOfDishes() {
+        return dishIds.length;
+    }
+
+    public int indexOfDish(long dishId) {
+        if (dishIndexesById == null) return Arrays.binarySearch(dishIds, dishId);
+        return dishId >= 0 && dishId < dishIndexesById.length ? dishIndexesById[(int) dishId] : -1;
+    }
+
+    public long getDishId(int dish) {
+        return dishIds[dish];
+    }
+
+    public DishType getDishType(int dish) {
+        return dishTypes[dish];
+    }
+
+    public String getDishName(int dish) {
+        return dishNames[dish];
+    }
+
+    public boolean hasDishInformation(int dish) {
+        return dishHasInformation[dish];
+    }
+
+    public double getProteins(int dish) {
+        return proteins[dish];
+    }
+
+    public double getFats(int dish) {
+        return fats[dish];
+    }
+
+    public double getCarbohydrates(int dish) {
+        return carbohydrates[dish];
+    }
+
+    public double getCaloricContent(int dish) {
+        return caloricContents[dish];
+    }
+
+    public ContainerTypeEntry getContainerType(String name) {
+        return name == null ? null : containerTypesByName.get(name);
+    }
+
+    public ContainerTypeEntry getContainerTypeById(long caloricContent) {
+        return containerTypesById.get(caloricContent);
+    }
+
+    private static Map<String, ContainerTypeEntry> addContainerTypes(Map<String, ContainerTypeEntry> containerTypesByName, List<ContainerType> containerTypes) {
+        containerTypes.stream().filter(t -> t.getName() != null)
+                .forEach(t -> containerTypesByName.put(t.getName(), new ContainerTypeEntry(t.getCaloricContent(), t.getPrice())));
+        return containerTypesByName;
+    }
+
+    private void setDish(int index, Dish dish) {
+        dishIds[index] = dish.getId();
+        dishTypes[index] = dish.getType();
+        dishNames[index] = dish.getName();
+        DishInformation dishInformation = dish.getDishInformation();
+        if (dishInformation == null) return;
+        dishHasInformation[index] = true;
+        proteins[index] = dishInformation.getProteins();
+        fats[index] = dishInformation.getFats();
+        carbohydrates[index] = dishInformation.getCarbohydrates();
+        caloricContents[index] = dishInformation.getCaloricContent();
+    }
+
+    private void copyDishes(int index, MenuCatalogSnapshot source, int sourceIndex, int numberOfDishes) {
+        System.arraycopy(source.dishIds, sourceIndex, dishIds, index, numberOfDishes);
+        System.arraycopy(source.dishTypes, sourceIndex, dishTypes, index, numberOfDishes);
+        System.arraycopy(source.dishNames, sourceIndex, dishNames, index, numberOfDishes);
+        System.arraycopy(source.dishHasInformation, sourceIndex, dishHasInformation, index, numberOfDishes);
+        System.arraycopy(source.proteins, sourceIndex, proteins, index, numberOfDishes);
+        System.arraycopy(source.fats, sourceIndex, fats, index, numberOfDishes);
+        System.arraycopy(source.carbohydrates, sourceIndex, carbohydrates, index, numberOfDishes);
+        System.arraycopy(source.caloricContents, sourceIndex, caloricContents, index, numberOfDishes);
+    }
+
+    private void indexDishes() {
+        if (dishIds.length == 0 || dishIds[0] < 0) return;
+        long maxDishId = dishIds[dishIds.length - 1];
+        if (maxDishId >= Math.max((long) maxIdsPerDish * dishIds.length, minIndexedIds)) return;
+        dishIndexesById = new int[(int) maxDishId + 1];
+        Arrays.fill(dishIndexesById, -1);
+        for (int i = 0; i < dishIds.length; i++) {
+            dishIndexesById[(int) dishIds[i]] = i;
+        }
+    }
+
+    public record ContainerTypeEntry(long caloricContent, int price) {
+    }
+}
@@ -0,0 +1,20 @@
+package edu.senla.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ContainerMacroTargetsDTO {
+
+    private String typeOfContainer;
+
+    private Double proteins;
+
+    private Double fats;
+
+    private Double carbohydrates;
+
+}
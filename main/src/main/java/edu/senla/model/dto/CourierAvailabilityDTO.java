@@ -0,0 +1,17 @@
+package edu.senla.model.dto;
+
+import edu.senla.model.enums.CourierStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CourierAvailabilityDTO {
+
+    private CourierStatus status;
+
+    private Long currentOrderId;
+
+}
@@ -26,4 +26,6 @@ public class CourierCurrentOrderInfoDTO {
 
     private List<ContainerComponentsNamesDTO> containers;
 
+    private List<CourierTripStopDTO> stops;
+
 }
@@ -0,0 +1,16 @@
+package edu.senla.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CourierLocationDTO {
+
+    private Double latitude;
+
+    private Double longitude;
+
+}
@@ -0,0 +1,22 @@
+package edu.senla.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CourierLocationPingDTO {
+
+    private long courierId;
+
+    private double latitude;
+
+    private double longitude;
+
+    private LocalDateTime recordedAt;
+
+}
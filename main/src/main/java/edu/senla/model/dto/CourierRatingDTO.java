@@ -0,0 +1,20 @@
+package edu.senla.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CourierRatingDTO {
+
+    private long courierId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private CourierPerformanceIndicatorDTO performanceIndicator;
+
+}
@@ -0,0 +1,25 @@
+package edu.senla.model.dto;
+
+import edu.senla.model.enums.DeliverySlaEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class DeliverySlaEventDTO {
+
+    private long orderId;
+
+    private Long courierId;
+
+    private DeliverySlaEventType type;
+
+    private LocalDateTime dueTime;
+
+    private LocalDateTime detectedTime;
+
+}
@@ -0,0 +1,22 @@
+package edu.senla.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class DeliverySlaStatisticsDTO {
+
+    private int numberOfTrackedOrders;
+
+    private long numberOfAtRiskEvents;
+
+    private long numberOfOverdueEvents;
+
+    private int numberOfSubscribers;
+
+    private long lastTickDurationMicros;
+
+}
@@ -0,0 +1,33 @@
+package edu.senla.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class DispatcherStatisticsDTO {
+
+    private boolean isEnabled;
+
+    private long queueDepth;
+
+    private long totalDispatchRuns;
+
+    private long totalAssignedOrders;
+
+    private long lastDispatchDurationMillis;
+
+    private long maxDispatchDurationMillis;
+
+    private double averageDispatchDurationMillis;
+
+    private LocalDateTime lastDispatchTime;
+
+    private List<Integer> ownedZones;
+
+}
@@ -0,0 +1,24 @@
+package edu.senla.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class OptimalContainerDTO {
+
+    private ContainerComponentsDTO containerComponents;
+
+    private ContainerComponentsParamsDTO containerParams;
+
+    private double proteins;
+
+    private double fats;
+
+    private double carbohydrates;
+
+    private boolean isExact;
+
+}
@@ -0,0 +1,18 @@
+package edu.senla.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class OrdersAssignmentResultDTO {
+
+    private int numberOfAssignedOrders;
+
+    private long numberOfPendingOrders;
+
+    private int numberOfFreeCouriers;
+
+}
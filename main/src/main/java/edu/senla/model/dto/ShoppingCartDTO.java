@@ -15,6 +15,10 @@ public class ShoppingCartDTO {
 
     private String address;
 
+    private Double latitude;
+
+    private Double longitude;
+
     private List<ContainerComponentsDTO> containers;
 
 }
@@ -28,6 +28,9 @@ public class Container implements Serializable {
     @JoinColumn(name = "container_type_id")
     private ContainerType containerType;
 
+    @Column(name = "price")
+    private double price;
+
     @ManyToMany
     @JoinTable(name = "containers_dishes",
             joinColumns = @JoinColumn(name = "container_id", referencedColumnName = "id"),
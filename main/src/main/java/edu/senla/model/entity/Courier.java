@@ -34,6 +34,18 @@ public class Courier implements Serializable {
     @Column(columnDefinition = "status")
     private CourierStatus status;
 
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "zone")
+    private int zone;
+
+    @Column(name = "token_version")
+    private int tokenVersion;
+
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "courier")
@@ -0,0 +1,37 @@
+package edu.senla.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "courier_performance")
+public class CourierPerformance implements Serializable {
+
+    @Id
+    @Column(name = "courier_id")
+    private long courierId;
+
+    @Column(name = "orders_delivered")
+    private int numberOfOrdersDelivered;
+
+    @Column(name = "orders_delivered_on_time")
+    private int numberOfOrdersDeliveredOnTime;
+
+    @Column(name = "orders_delivered_late")
+    private int numberOfOrdersDeliveredLate;
+
+    @Column(name = "working_days")
+    private int numberOfWorkingDays;
+
+    @Column(name = "last_working_day")
+    private LocalDate lastWorkingDay;
+
+}
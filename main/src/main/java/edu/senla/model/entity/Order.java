@@ -46,6 +46,21 @@ public class Order implements Serializable {
     @Column(name = "status")
     private OrderStatus status;
 
+    @Column(name = "trip_sequence")
+    private Integer tripSequence;
+
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "zone")
+    private int zone;
+
+    @Column(name = "total_cost")
+    private double totalCost;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<Container> containers;
 
@@ -34,6 +34,15 @@ public class User implements Serializable {
     @Column(name = "address")
     private String address;
 
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "token_version")
+    private int tokenVersion;
+
     @Column(name = "username")
     private String username;
 
@@ -0,0 +1,7 @@
+package edu.senla.model.enums;
+
+public enum CourierRatingSortType {
+
+    DELIVERED, ON_TIME, PER_DAY
+
+}
@@ -0,0 +1,7 @@
+package edu.senla.model.enums;
+
+public enum DeliverySlaEventType {
+
+    AT_RISK, OVERDUE
+
+}
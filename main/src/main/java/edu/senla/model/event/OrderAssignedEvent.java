@@ -0,0 +1,18 @@
+package edu.senla.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@Data
+public class OrderAssignedEvent {
+
+    private long courierId;
+
+    private long orderId;
+
+    private LocalDateTime orderDateTime;
+
+}
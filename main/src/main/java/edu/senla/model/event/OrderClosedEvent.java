@@ -0,0 +1,12 @@
+package edu.senla.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@AllArgsConstructor
+@Data
+public class OrderClosedEvent {
+
+    private long orderId;
+
+}
@@ -0,0 +1,14 @@
+package edu.senla.model.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@AllArgsConstructor
+@Data
+public class OrderCreatedEvent {
+
+    private long orderId;
+
+    private int zone;
+
+}
@@ -0,0 +1,175 @@
+package edu.senla.scheduler;
+
+import edu.senla.dao.DispatchZoneLeaseRepository;
+import edu.senla.model.dto.DispatcherStatisticsDTO;
+import edu.senla.model.dto.OrdersAssignmentResultDTO;
+import edu.senla.model.event.OrderCreatedEvent;
+import edu.senla.service.CourierService;
+import edu.senla.service.DeliveryZoneService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class AutoDispatchScheduler {
+
+    private final CourierService courierService;
+    private final DeliveryZoneService deliveryZoneService;
+    private final DispatchZoneLeaseRepository dispatchZoneLeaseRepository;
+
+    @Value("${dispatch.auto.enabled:false}")
+    private boolean isEnabled;
+
+    @Value("${dispatch.auto.onOrderCreated:true}")
+    private boolean isDispatchOnOrderCreated;
+
+    @Value("${dispatch.zones.threads:2}")
+    private int numberOfThreads;
+
+    @Value("${dispatch.zones.leases.enabled:false}")
+    private boolean isLeasingEnabled;
+
+    @Value("${dispatch.zones.leases.duration:15000}")
+    private long leaseDurationMillis;
+
+    @Value("${dispatch.zones.instanceId:}")
+    private String instanceId;
+
+    private final Map<Integer, ZoneDispatcher> ownedZones = new ConcurrentHashMap<>();
+    private final AtomicLong totalDispatchRuns = new AtomicLong();
+    private final AtomicLong totalAssignedOrders = new AtomicLong();
+    private final AtomicLong totalDispatchDurationMillis = new AtomicLong();
+    private final AtomicLong lastDispatchDurationMillis = new AtomicLong();
+    private final AtomicLong maxDispatchDurationMillis = new AtomicLong();
+    private volatile LocalDateTime lastDispatchTime;
+    private ExecutorService dispatchExecutor;
+
+    @PostConstruct
+    public void startDispatchExecutor() {
+        if (instanceId == null || instanceId.isBlank()) instanceId = UUID.randomUUID().toString();
+        dispatchExecutor = Executors.newFixedThreadPool(numberOfThreads);
+        if (!isEnabled) return;
+        deliveryZoneService.rezoneOrdersOutsideZones();
+        deliveryZoneService.rezoneCouriersOutsideZones();
+        if (isLeasingEnabled) dispatchZoneLeaseRepository.createMissingLeases(deliveryZoneService.getNumberOfZones());
+        log.info("Automatic dispatch started as {} for {} zones", instanceId, deliveryZoneService.getNumberOfZones());
+    }
+
+    @PreDestroy
+    public void stopDispatchExecutor() {
+        dispatchExecutor.shutdownNow();
+        if (isLeasingEnabled) ownedZones.keySet().forEach(zone -> dispatchZoneLeaseRepository.releaseLease(zone, instanceId));
+        ownedZones.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.auto.interval:5000}")
+    public void dispatchByTimer() {
+        if (!isEnabled) return;
+        updateOwnedZones();
+        ownedZones.values().forEach(this::requestDispatch);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void dispatchOnOrderCreated(OrderCreatedEvent orderCreatedEvent) {
+        if (!isEnabled || !isDispatchOnOrderCreated) return;
+        ZoneDispatcher zoneDispatcher = ownedZones.get(orderCreatedEvent.getZone());
+        if (zoneDispatcher != null) requestDispatch(zoneDispatcher);
+    }
+
+    public DispatcherStatisticsDTO getStatistics() {
+        long runs = totalDispatchRuns.get();
+        double averageDuration = runs == 0 ? 0 : (double) totalDispatchDurationMillis.get() / runs;
+        long queueDepth = ownedZones.values().stream().mapToLong(z -> z.queueDepth.get()).sum();
+        List<Integer> zones = ownedZones.keySet().stream().sorted().toList();
+        return new DispatcherStatisticsDTO(isEnabled, queueDepth, runs, totalAssignedOrders.get(),
+                lastDispatchDurationMillis.get(), maxDispatchDurationMillis.get(), averageDuration, lastDispatchTime, zones);
+    }
+
+    private void updateOwnedZones() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int zone = 0; zone < deliveryZoneService.getNumberOfZones(); zone++) {
+            if (!isLeasingEnabled || isLeaseAcquired(zone, now)) {
+                ownedZones.computeIfAbsent(zone, ZoneDispatcher::new);
+            } else if (ownedZones.remove(zone) != null) {
+                log.info("Dispatch zone {} is now owned by another instance", zone);
+            }
+        }
+    }
+
+    private boolean isLeaseAcquired(int zone, LocalDateTime now) {
+        try {
+            return dispatchZoneLeaseRepository.acquireLease(zone, instanceId, now, now.plusNanos(leaseDurationMillis * 1_000_000));
+        } catch (RuntimeException exception) {
+            log.error("Failed to renew the lease of dispatch zone {}", zone, exception);
+            return false;
+        }
+    }
+
+    private void requestDispatch(ZoneDispatcher zoneDispatcher) {
+        zoneDispatcher.isDispatchRequested.set(true);
+        if (!zoneDispatcher.isDispatchRunning.compareAndSet(false, true)) return;
+        try {
+            dispatchExecutor.execute(() -> drainDispatchRequests(zoneDispatcher));
+        } catch (RejectedExecutionException exception) {
+            zoneDispatcher.isDispatchRunning.set(false);
+        }
+    }
+
+    private void drainDispatchRequests(ZoneDispatcher zoneDispatcher) {
+        try {
+            while (zoneDispatcher.isDispatchRequested.getAndSet(false) && ownedZones.containsKey(zoneDispatcher.zone)) {
+                runDispatch(zoneDispatcher);
+            }
+        } finally {
+            zoneDispatcher.isDispatchRunning.set(false);
+        }
+        if (zoneDispatcher.isDispatchRequested.get() && ownedZones.containsKey(zoneDispatcher.zone)) requestDispatch(zoneDispatcher);
+    }
+
+    private void runDispatch(ZoneDispatcher zoneDispatcher) {
+        long start = System.nanoTime();
+        try {
+            OrdersAssignmentResultDTO result = courierService.assignOrdersToActiveCouriersInZone(zoneDispatcher.zone);
+            zoneDispatcher.queueDepth.set(result.getNumberOfPendingOrders());
+            totalAssignedOrders.addAndGet(result.getNumberOfAssignedOrders());
+        } catch (RuntimeException exception) {
+            log.error("Automatic dispatch in zone {} failed", zoneDispatcher.zone, exception);
+        }
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        totalDispatchRuns.incrementAndGet();
+        totalDispatchDurationMillis.addAndGet(durationMillis);
+        lastDispatchDurationMillis.set(durationMillis);
+        maxDispatchDurationMillis.accumulateAndGet(durationMillis, Math::max);
+        lastDispatchTime = LocalDateTime.now();
+    }
+
+    private static class ZoneDispatcher {
+
+        private final int zone;
+        private final AtomicBoolean isDispatchRunning = new AtomicBoolean();
+        private final AtomicBoolean isDispatchRequested = new AtomicBoolean();
+        private final AtomicLong queueDepth = new AtomicLong();
+
+        private ZoneDispatcher(int zone) {
+            this.zone = zone;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.senla.scheduler;
+
+import edu.senla.dao.OrderRepository;
+import edu.senla.model.dto.DeliverySlaEventDTO;
+import edu.senla.model.dto.DeliverySlaStatisticsDTO;
+import edu.senla.model.entity.Order;
+import edu.senla.model.enums.DeliverySlaEventType;
+import edu.senla.model.enums.OrderStatus;
+import edu.senla.model.event.OrderAssignedEvent;
+import edu.senla.model.event.OrderClosedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class DeliverySlaMonitor {
+
+    private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Map<Long, List<HashedTimerWheel.Timeout<DeliverySlaEventDTO>>> timeoutsByOrder = new ConcurrentHashMap<>();
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong atRiskEvents = new AtomicLong();
+    private final AtomicLong overdueEvents = new AtomicLong();
+    private volatile long lastTickDurationMicros;
+    private HashedTimerWheel<DeliverySlaEventDTO> timerWheel;
+
+    @Value("${sla.deliveryTime:120}")
+    private int deliveryTime;
+
+    @Value("${sla.atRiskBefore:20}")
+    private int atRiskBefore;
+
+    @Value("${sla.tickInterval:1000}")
+    private long tickInterval;
+
+    @Value("${sla.wheelSize:8192}")
+    private int wheelSize;
+
+    @Value("${sla.subscriptionTimeout:3600000}")
+    private long subscriptionTimeout;
+
+    @PostConstruct
+    public void seedOpenOrders() {
+        timerWheel = new HashedTimerWheel<>(tickInterval, wheelSize, 100_000);
+        List<Order> openOrders = orderRepository.getAllByStatusIn(List.of(OrderStatus.IN_PROCESS));
+        for (Order order : openOrders) {
+            Long courierId = order.getCourier() == null ? null : order.getCourier().getId();
+            registerOrder(order.getId(), courierId, LocalDateTime.of(order.getDate(), order.getTime()));
+        }
+        log.info("Delivery SLA monitor started with {} orders in process", openOrders.size());
+    }
+
+    @Scheduled(fixedRateString = "${sla.tickInterval:1000}")
+    public void tick() {
+        long start = System.nanoTime();
+        timerWheel.advance(this::emit);
+        lastTickDurationMicros = (System.nanoTime() - start) / 1000;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void registerOnOrderAssigned(OrderAssignedEvent orderAssignedEvent) {
+        registerOrder(orderAssignedEvent.getOrderId(), orderAssignedEvent.getCourierId(), orderAssignedEvent.getOrderDateTime());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void cancelOnOrderClosed(OrderClosedEvent orderClosedEvent) {
+        List<HashedTimerWheel.Timeout<DeliverySlaEventDTO>> timeouts = timeoutsByOrder.remove(orderClosedEvent.getOrderId());
+        if (timeouts != null) timeouts.forEach(HashedTimerWheel.Timeout::cancel);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter subscriber = new SseEmitter(subscriptionTimeout);
+        subscriber.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    public DeliverySlaStatisticsDTO getStatistics() {
+        return new DeliverySlaStatisticsDTO(timeoutsByOrder.size(), atRiskEvents.get(), overdueEvents.get(),
+                subscribers.size(), lastTickDurationMicros);
+    }
+
+    private void registerOrder(long orderId, Long courierId, LocalDateTime orderDateTime) {
+        LocalDateTime dueTime = orderDateTime.plusMinutes(deliveryTime);
+        LocalDateTime now = LocalDateTime.now();
+        HashedTimerWheel.Timeout<DeliverySlaEventDTO> atRiskTimeout = timerWheel.schedule(
+                new DeliverySlaEventDTO(orderId, courierId, DeliverySlaEventType.AT_RISK, dueTime, null),
+                Duration.between(now, dueTime.minusMinutes(atRiskBefore)).toMillis());
+        HashedTimerWheel.Timeout<DeliverySlaEventDTO> overdueTimeout = timerWheel.schedule(
+                new DeliverySlaEventDTO(orderId, courierId, DeliverySlaEventType.OVERDUE, dueTime, null),
+                Duration.between(now, dueTime).toMillis());
+        List<HashedTimerWheel.Timeout<DeliverySlaEventDTO>> previousTimeouts = timeoutsByOrder.put(orderId, List.of(atRiskTimeout, overdueTimeout));
+        if (previousTimeouts != null) previousTimeouts.forEach(HashedTimerWheel.Timeout::cancel);
+    }
+
+    private void emit(DeliverySlaEventDTO slaEvent) {
+        DeliverySlaEventDTO detectedEvent = new DeliverySlaEventDTO(slaEvent.getOrderId(), slaEvent.getCourierId(),
+                slaEvent.getType(), slaEvent.getDueTime(), LocalDateTime.now());
+        if (detectedEvent.getType().equals(DeliverySlaEventType.AT_RISK)) {
+            atRiskEvents.incrementAndGet();
+            log.warn("Order {} delivered by courier {} is at risk of missing its delivery time {}", detectedEvent.getOrderId(), detectedEvent.getCourierId(), detectedEvent.getDueTime());
+        } else {
+            overdueEvents.incrementAndGet();
+            timeoutsByOrder.remove(detectedEvent.getOrderId());
+            log.warn("Order {} delivered by courier {} is overdue since {}", detectedEvent.getOrderId(), detectedEvent.getCourierId(), detectedEvent.getDueTime());
+        }
+        try {
+            applicationEventPublisher.publishEvent(detectedEvent);
+        } catch (RuntimeException exception) {
+            log.error("Delivery SLA event listener failed", exception);
+        }
+        for (SseEmitter subscriber : subscribers) {
+            try {
+                subscriber.send(SseEmitter.event().name(detectedEvent.getType().toString().toLowerCase()).data(detectedEvent));
+            } catch (IOException | IllegalStateException exception) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+}
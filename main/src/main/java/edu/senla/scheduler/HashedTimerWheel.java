@@ -0,0 +1,100 @@
+package edu.senla.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class HashedTimerWheel<T> {
+
+    private final long tickNanos;
+    private final int mask;
+    private final ArrayDeque<Timeout<T>>[] buckets;
+    private final Queue<Timeout<T>> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+    private final long startNanos;
+    private final int maxTimeoutsTransferredPerTick;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimerWheel(long tickMillis, int wheelSize, int maxTimeoutsTransferredPerTick) {
+        if (Integer.bitCount(wheelSize) != 1) throw new IllegalArgumentException("Wheel size must be a power of two");
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.maxTimeoutsTransferredPerTick = maxTimeoutsTransferredPerTick;
+        this.startNanos = System.nanoTime();
+    }
+
+    public Timeout<T> schedule(T payload, long delayMillis) {
+        long deadlineNanos = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        Timeout<T> timeout = new Timeout<>(payload, deadlineNanos / tickNanos);
+        scheduledTimeouts.add(timeout);
+        return timeout;
+    }
+
+    public int advance(Consumer<T> expiredConsumer) {
+        long targetTick = (System.nanoTime() - startNanos) / tickNanos;
+        int numberOfExpiredTimeouts = 0;
+        while (currentTick <= targetTick) {
+            transferScheduledTimeouts();
+            numberOfExpiredTimeouts += expireBucket(buckets[(int) (currentTick & mask)], expiredConsumer);
+            currentTick++;
+        }
+        return numberOfExpiredTimeouts;
+    }
+
+    private void transferScheduledTimeouts() {
+        for (int i = 0; i < maxTimeoutsTransferredPerTick; i++) {
+            Timeout<T> timeout = scheduledTimeouts.poll();
+            if (timeout == null) return;
+            if (timeout.isCancelled()) continue;
+            long tick = Math.max(timeout.deadlineTick, currentTick);
+            timeout.remainingRounds = (tick - currentTick) / buckets.length;
+            buckets[(int) (tick & mask)].add(timeout);
+        }
+    }
+
+    private int expireBucket(ArrayDeque<Timeout<T>> bucket, Consumer<T> expiredConsumer) {
+        int numberOfExpiredTimeouts = 0;
+        Iterator<Timeout<T>> timeouts = bucket.iterator();
+        while (timeouts.hasNext()) {
+            Timeout<T> timeout = timeouts.next();
+            if (timeout.isCancelled()) {
+                timeouts.remove();
+            } else if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else {
+                timeouts.remove();
+                expiredConsumer.accept(timeout.payload);
+                numberOfExpiredTimeouts++;
+            }
+        }
+        return numberOfExpiredTimeouts;
+    }
+
+    public static class Timeout<T> {
+
+        private final T payload;
+        private final long deadlineTick;
+        private long remainingRounds;
+        private volatile boolean isCancelled;
+
+        private Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public void cancel() {
+            isCancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return isCancelled;
+        }
+    }
+}
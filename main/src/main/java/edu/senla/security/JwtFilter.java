@@ -1,6 +1,7 @@
 package edu.senla.security;
 
 import edu.senla.service.impl.ClientUserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,18 +28,33 @@ public class JwtFilter extends GenericFilterBean {
     @Autowired
     private ClientUserDetailsServiceImpl clientUserDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
         String token = getTokenFromRequest((HttpServletRequest) servletRequest);
         if (token != null) {
-            String userLogin = jwtProvider.getLoginFromToken(token);
-            UserDetailsImpl userDetailsImpl = clientUserDetailsService.loadUserByUsername(userLogin);
-            UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userDetailsImpl, null, userDetailsImpl.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(auth);
+            UserDetailsImpl userDetailsImpl = getPrincipalFromToken(token);
+            if (userDetailsImpl != null) {
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userDetailsImpl, null, userDetailsImpl.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
         }
         filterChain.doFilter(servletRequest, servletResponse);
     }
 
+    private UserDetailsImpl getPrincipalFromToken(String token) {
+        Claims claims = jwtProvider.getClaimsFromToken(token);
+        UserDetailsImpl principalFromClaims = jwtProvider.getPrincipalFromClaims(claims);
+        if (principalFromClaims == null)
+            return principalCache.getOrLoad(claims.getSubject(), clientUserDetailsService::loadUserByUsername);
+        return tokenVersionRegistry.isTokenVersionValid(principalFromClaims) ? principalFromClaims : null;
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearer = request.getHeader(AUTHORIZATION);
         if (hasText(bearer) && bearer.startsWith("Bearer ")) {
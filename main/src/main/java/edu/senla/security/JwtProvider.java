@@ -4,21 +4,44 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtProvider {
 
+    private static final String idClaim = "id";
+    private static final String versionClaim = "ver";
+    private static final String authoritiesClaim = "authorities";
+
     @Value("$(jwt.secret)")
     private String jwtSecret;
 
     @Value("${jwt.sessionTime}")
     private int jwtSessionTime;
 
+    @Value("${jwt.selfContained.enabled:false}")
+    private boolean isSelfContained;
+
+    @Value("${jwt.selfContained.sessionTime:15}")
+    private int selfContainedSessionTime;
+
+    @Value("${jwt.verifiedTokenCache.enabled:true}")
+    private boolean isVerifiedTokenCacheEnabled;
+
+    @Value("${jwt.verifiedTokenCache.maxSize:10000}")
+    private int verifiedTokenCacheMaxSize;
+
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
     public String generateToken(String username) {
         Date expDate = Date.from(LocalDateTime.now().plusMinutes(jwtSessionTime).atZone(ZoneId.systemDefault()).toInstant());
         return Jwts.builder()
@@ -28,8 +51,58 @@ public class JwtProvider {
                 .compact();
     }
 
+    public String generateToken(UserDetailsImpl principal) {
+        if (!isSelfContained) return generateToken(principal.getUsername());
+        Date expDate = Date.from(LocalDateTime.now().plusMinutes(selfContainedSessionTime).atZone(ZoneId.systemDefault()).toInstant());
+        return Jwts.builder()
+                .setSubject(principal.getUsername())
+                .claim(idClaim, principal.getId())
+                .claim(versionClaim, principal.getTokenVersion())
+                .claim(authoritiesClaim, principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .setExpiration(expDate)
+                .signWith(SignatureAlgorithm.HS512, jwtSecret)
+                .compact();
+    }
+
     public String getLoginFromToken(String token) {
-        Claims claims = Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
-        return claims.getSubject();
+        return getClaimsFromToken(token).getSubject();
+    }
+
+    public Claims getClaimsFromToken(String token) {
+        if (!isVerifiedTokenCacheEnabled) return parseClaims(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken verifiedToken = verifiedTokens.get(token);
+        if (verifiedToken != null) {
+            if (verifiedToken.expiresAt() > now) return verifiedToken.claims();
+            verifiedTokens.remove(token);
+        }
+        Claims claims = parseClaims(token);
+        if (verifiedTokens.size() >= verifiedTokenCacheMaxSize) evictVerifiedTokens(now);
+        long expiresAt = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+        verifiedTokens.put(token, new VerifiedToken(claims, expiresAt));
+        return claims;
+    }
+
+    public UserDetailsImpl getPrincipalFromClaims(Claims claims) {
+        if (!isSelfContained || !claims.containsKey(idClaim)) return null;
+        List<?> authorities = claims.get(authoritiesClaim, List.class);
+        return UserDetailsImpl.fromTokenClaims(claims.get(idClaim, Number.class).longValue(), claims.get(versionClaim, Number.class).intValue(),
+                claims.getSubject(), authorities.stream().map(String::valueOf).toList());
+    }
+
+    private Claims parseClaims(String token) {
+        return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
+    }
+
+    private void evictVerifiedTokens(long now) {
+        verifiedTokens.values().removeIf(t -> t.expiresAt() <= now);
+        Iterator<String> tokens = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() >= verifiedTokenCacheMaxSize && tokens.hasNext()) {
+            tokens.next();
+            tokens.remove();
+        }
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAt) {
     }
 }
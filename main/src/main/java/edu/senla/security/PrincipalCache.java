@@ -0,0 +1,57 @@
+package edu.senla.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class PrincipalCache {
+
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Value("${security.principalCache.ttl:60000}")
+    private long timeToLiveMillis;
+
+    @Value("${security.principalCache.maxSize:10000}")
+    private int maxSize;
+
+    public UserDetailsImpl getOrLoad(String login, Function<String, UserDetailsImpl> loader) {
+        long now = System.currentTimeMillis();
+        CachedPrincipal cachedPrincipal = principals.get(login);
+        if (cachedPrincipal != null && cachedPrincipal.expiresAt() > now) return cachedPrincipal.principal();
+        long invalidationsBeforeLoad = invalidations.get();
+        UserDetailsImpl principal = loader.apply(login);
+        if (principal != null && invalidations.get() == invalidationsBeforeLoad) {
+            if (principals.size() >= maxSize) evict(now);
+            principals.put(login, new CachedPrincipal(principal, now + timeToLiveMillis));
+        }
+        return principal;
+    }
+
+    public void invalidate(String login) {
+        invalidations.incrementAndGet();
+        if (login != null) principals.remove(login);
+    }
+
+    public int size() {
+        return principals.size();
+    }
+
+    private void evict(long now) {
+        principals.values().removeIf(p -> p.expiresAt() <= now);
+        Iterator<String> logins = principals.keySet().iterator();
+        while (principals.size() >= maxSize && logins.hasNext()) {
+            logins.next();
+            logins.remove();
+        }
+    }
+
+    private record CachedPrincipal(UserDetailsImpl principal, long expiresAt) {
+    }
+}
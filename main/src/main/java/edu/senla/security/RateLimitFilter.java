@@ -0,0 +1,110 @@
+package edu.senla.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.senla.model.dto.ErrorDTO;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static io.jsonwebtoken.lang.Strings.hasText;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        int routeIndex = findRoute(request);
+        if (routeIndex < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RateLimitProperties.Route route = rateLimitProperties.getRoutes().get(routeIndex);
+        long now = System.nanoTime();
+        String bucketKey = routeIndex + ":" + getClientKey(request);
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= rateLimitProperties.getMaxBuckets()) evictBuckets(now);
+            bucket = buckets.computeIfAbsent(bucketKey, k -> new TokenBucket(route.getCapacity(), route.getRefillPerSecond(), now));
+        }
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            rejectRequest(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    public int getNumberOfBuckets() {
+        return buckets.size();
+    }
+
+    private int findRoute(HttpServletRequest request) {
+        if (!rateLimitProperties.isEnabled()) return -1;
+        String path = urlPathHelper.getPathWithinApplication(request);
+        List<RateLimitProperties.Route> routes = rateLimitProperties.getRoutes();
+        for (int i = 0; i < routes.size(); i++) {
+            RateLimitProperties.Route route = routes.get(i);
+            if (route.getMethod() != null && !route.getMethod().equalsIgnoreCase(request.getMethod())) continue;
+            if (pathMatcher.match(route.getPath(), path)) return i;
+        }
+        return -1;
+    }
+
+    private String getClientKey(HttpServletRequest request) {
+        String bearer = request.getHeader(JwtFilter.AUTHORIZATION);
+        if (hasText(bearer) && bearer.startsWith("Bearer ")) {
+            try {
+                return "login:" + jwtProvider.getLoginFromToken(bearer.substring(7));
+            } catch (JwtException | IllegalArgumentException exception) {
+                return "ip:" + request.getRemoteAddr();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void rejectRequest(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1), 1);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(new ErrorDTO("Too many requests, please try again in " + retryAfterSeconds + " seconds")));
+    }
+
+    private void evictBuckets(long now) {
+        buckets.values().removeIf(b -> b.isFull(now));
+        Iterator<String> keys = buckets.keySet().iterator();
+        while (buckets.size() >= rateLimitProperties.getMaxBuckets() && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package edu.senla.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "security.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled;
+
+    private int maxBuckets = 100000;
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        private String path;
+
+        private String method;
+
+        private int capacity;
+
+        private double refillPerSecond;
+
+    }
+}
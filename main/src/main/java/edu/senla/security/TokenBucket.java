@@ -0,0 +1,33 @@
+package edu.senla.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    // the moment the bucket is full again, so refilling and taking a token is one compare-and-set
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, double tokensPerSecond, long now) {
+        this.nanosPerToken = Math.max((long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond), 1);
+        this.burstNanos = nanosPerToken * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    // returns 0 when a token was taken, otherwise the nanoseconds until the next token is available
+    public long tryConsume(long now) {
+        while (true) {
+            long currentFullAt = fullAt.get();
+            long nextFullAt = Math.max(currentFullAt, now) + nanosPerToken;
+            long overdraft = nextFullAt - now - burstNanos;
+            if (overdraft > 0) return overdraft;
+            if (fullAt.compareAndSet(currentFullAt, nextFullAt)) return 0;
+        }
+    }
+
+    public boolean isFull(long now) {
+        return fullAt.get() <= now;
+    }
+}
@@ -0,0 +1,84 @@
+package edu.senla.security;
+
+import edu.senla.dao.CourierRepository;
+import edu.senla.dao.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+// versions are reloaded from token_version after the ttl, so revocations made by other instances apply within it
+@Component
+public class TokenVersionRegistry {
+
+    private static final int deletedAccountTokenVersion = Integer.MAX_VALUE;
+
+    private final Map<Long, CachedTokenVersion> clientTokenVersions = new ConcurrentHashMap<>();
+    private final Map<Long, CachedTokenVersion> courierTokenVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourierRepository courierRepository;
+
+    @Value("${security.tokenVersions.ttl:30000}")
+    private long timeToLiveMillis;
+
+    @Value("${security.tokenVersions.maxSize:100000}")
+    private int maxSize;
+
+    public boolean isTokenVersionValid(UserDetailsImpl principal) {
+        int tokenVersion = principal.isCourier()
+                ? getTokenVersion(courierTokenVersions, principal.getId(), courierRepository::getTokenVersionById)
+                : getTokenVersion(clientTokenVersions, principal.getId(), userRepository::getTokenVersionById);
+        return principal.getTokenVersion() >= tokenVersion;
+    }
+
+    public void revokeClientTokens(long clientId, int currentTokenVersion) {
+        storeTokenVersion(clientTokenVersions, clientId, currentTokenVersion, System.currentTimeMillis());
+    }
+
+    public void revokeCourierTokens(long courierId, int currentTokenVersion) {
+        storeTokenVersion(courierTokenVersions, courierId, currentTokenVersion, System.currentTimeMillis());
+    }
+
+    public void revokeAllClientTokens(long clientId) {
+        revokeClientTokens(clientId, deletedAccountTokenVersion);
+    }
+
+    public void revokeAllCourierTokens(long courierId) {
+        revokeCourierTokens(courierId, deletedAccountTokenVersion);
+    }
+
+    private int getTokenVersion(Map<Long, CachedTokenVersion> tokenVersions, long id, LongFunction<Integer> loader) {
+        long now = System.currentTimeMillis();
+        CachedTokenVersion cachedTokenVersion = tokenVersions.get(id);
+        if (cachedTokenVersion != null && cachedTokenVersion.expiresAt() > now) return cachedTokenVersion.tokenVersion();
+        Integer storedTokenVersion = loader.apply(id);
+        return storeTokenVersion(tokenVersions, id, storedTokenVersion == null ? deletedAccountTokenVersion : storedTokenVersion, now);
+    }
+
+    // versions only grow, so a load racing with a local revocation keeps the higher one
+    private int storeTokenVersion(Map<Long, CachedTokenVersion> tokenVersions, long id, int tokenVersion, long now) {
+        if (tokenVersions.size() >= maxSize) evict(tokenVersions, now);
+        return tokenVersions.merge(id, new CachedTokenVersion(tokenVersion, now + timeToLiveMillis),
+                (cached, loaded) -> new CachedTokenVersion(Math.max(cached.tokenVersion(), loaded.tokenVersion()), loaded.expiresAt())).tokenVersion();
+    }
+
+    private void evict(Map<Long, CachedTokenVersion> tokenVersions, long now) {
+        tokenVersions.values().removeIf(v -> v.expiresAt() <= now);
+        Iterator<Long> ids = tokenVersions.keySet().iterator();
+        while (tokenVersions.size() >= maxSize && ids.hasNext()) {
+            ids.next();
+            ids.remove();
+        }
+    }
+
+    private record CachedTokenVersion(int tokenVersion, long expiresAt) {
+    }
+}
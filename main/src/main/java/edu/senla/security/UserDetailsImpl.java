@@ -13,6 +13,10 @@ import java.util.stream.Collectors;
 
 public class UserDetailsImpl implements UserDetails {
 
+    private static final String courierRole = "ROLE_COURIER";
+
+    private long id;
+    private int tokenVersion;
     private String username;
     private String password;
 
@@ -20,6 +24,8 @@ public class UserDetailsImpl implements UserDetails {
 
     public static UserDetailsImpl fromClientEntityToClientUserDetails(User user) {
         UserDetailsImpl userDetailsImpl = new UserDetailsImpl();
+        userDetailsImpl.id = user.getId();
+        userDetailsImpl.tokenVersion = user.getTokenVersion();
         userDetailsImpl.username = user.getUsername();
         userDetailsImpl.password = user.getPassword();
         userDetailsImpl.grantedAuthorities = List.copyOf(user.getRoles()).stream().map(role -> new SimpleGrantedAuthority(role.getName())).collect(Collectors.toList());
@@ -28,12 +34,35 @@ public class UserDetailsImpl implements UserDetails {
 
     public static UserDetailsImpl fromCourierEntityToCourierUserDetails(Courier courier) {
         UserDetailsImpl courierUserDetailsImpl = new UserDetailsImpl();
+        courierUserDetailsImpl.id = courier.getId();
+        courierUserDetailsImpl.tokenVersion = courier.getTokenVersion();
         courierUserDetailsImpl.username = courier.getPhone();
         courierUserDetailsImpl.password = courier.getPassword();
-        courierUserDetailsImpl.grantedAuthorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_COURIER"));
+        courierUserDetailsImpl.grantedAuthorities = Collections.singletonList(new SimpleGrantedAuthority(courierRole));
         return courierUserDetailsImpl;
     }
 
+    public static UserDetailsImpl fromTokenClaims(long id, int tokenVersion, String username, List<String> authorities) {
+        UserDetailsImpl userDetailsImpl = new UserDetailsImpl();
+        userDetailsImpl.id = id;
+        userDetailsImpl.tokenVersion = tokenVersion;
+        userDetailsImpl.username = username;
+        userDetailsImpl.grantedAuthorities = authorities.stream().map(SimpleGrantedAuthority::new).toList();
+        return userDetailsImpl;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public boolean isCourier() {
+        return grantedAuthorities.stream().anyMatch(a -> a.getAuthority().equals(courierRole));
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return grantedAuthorities;
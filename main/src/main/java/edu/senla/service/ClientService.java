@@ -1,6 +1,7 @@
 package edu.senla.service;
 
 import edu.senla.model.dto.*;
+import edu.senla.security.UserDetailsImpl;
 
 import java.util.List;
 
@@ -22,6 +23,8 @@ public interface ClientService {
 
     UserFullInfoDTO getClientByUsernameAndPassword(String authRequestJson);
 
+    UserDetailsImpl getClientPrincipalByUsernameAndPassword(String authRequestJson);
+
     long getCurrentClientId();
 
     void updateClient(long id, String updatedClientJson);
@@ -0,0 +1,8 @@
+package edu.senla.service;
+
+import edu.senla.model.dto.OptimalContainerDTO;
+
+public interface ContainerOptimizationService {
+
+    OptimalContainerDTO findOptimalContainer(String containerMacroTargetsJson);
+}
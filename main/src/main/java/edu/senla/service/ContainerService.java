@@ -3,6 +3,7 @@ package edu.senla.service;
 import edu.senla.model.dto.ContainerComponentsDTO;
 import edu.senla.model.dto.ContainerComponentsNamesDTO;
 import edu.senla.model.dto.ContainerComponentsParamsDTO;
+import edu.senla.model.dto.ContainerParamsCalculationDTO;
 import edu.senla.model.entity.Container;
 import edu.senla.model.entity.Order;
 
@@ -16,6 +17,10 @@ public interface ContainerService {
 
     ContainerComponentsParamsDTO calculateWeightOfDishes(String containerComponentsJson);
 
+    ContainerComponentsParamsDTO calculateContainerParams(ContainerComponentsDTO containerComponentsDTO);
+
+    List<ContainerParamsCalculationDTO> calculateWeightOfDishesInBatch(String containerComponentsListJson);
+
     ContainerComponentsNamesDTO mapFromContainerEntityToContainerComponentsNamesDTO(Container container);
 
     Container mapFromContainerComponentsDTOToContainerEntity(ContainerComponentsDTO containerComponentsDTO, Order order);
@@ -0,0 +1,18 @@
+package edu.senla.service;
+
+import edu.senla.model.enums.CourierStatus;
+
+public interface CourierAvailabilityService {
+
+    boolean isCourierActive(long courierId);
+
+    boolean isCourierOccupied(long courierId);
+
+    void updateCourierStatus(long courierId, CourierStatus status);
+
+    void assignOrderToCourier(long courierId, long orderId);
+
+    void releaseCourier(long courierId);
+
+    void removeCourier(long courierId);
+}
@@ -0,0 +1,8 @@
+package edu.senla.service;
+
+public interface CourierLocationIngestionService {
+
+    void acceptLocation(long courierId, String courierLocationJson);
+
+    int getNumberOfBufferedLocations();
+}
@@ -0,0 +1,18 @@
+package edu.senla.service;
+
+import edu.senla.model.dto.CourierLocationDTO;
+
+import java.util.function.LongPredicate;
+
+public interface CourierLocationService {
+
+    void updateCourierLocation(long courierId, double latitude, double longitude);
+
+    void removeCourier(long courierId);
+
+    CourierLocationDTO getCourierLocation(long courierId);
+
+    Long findNearestCourier(double latitude, double longitude, LongPredicate isCourierSuitable);
+
+    double calculateDistance(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude);
+}
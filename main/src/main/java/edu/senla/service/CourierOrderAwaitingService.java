@@ -0,0 +1,12 @@
+package edu.senla.service;
+
+import edu.senla.model.dto.CourierCurrentOrderInfoDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+public interface CourierOrderAwaitingService {
+
+    DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> awaitNewOrder(long courierId);
+
+    int getNumberOfAwaitingCouriers();
+}
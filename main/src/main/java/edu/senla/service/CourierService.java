@@ -1,6 +1,7 @@
 package edu.senla.service;
 
 import edu.senla.model.dto.*;
+import edu.senla.security.UserDetailsImpl;
 
 import java.util.List;
 
@@ -8,8 +9,6 @@ public interface CourierService {
 
     List<CourierMainInfoDTO> getAllCouriers(int pages);
 
-    List<CourierBasicInfoDTO> getAllActiveCouriersDTO();
-
     void createCourier(String courierRegistrationRequestJson);
 
     CourierMainInfoDTO getCourier(long id);
@@ -20,6 +19,8 @@ public interface CourierService {
 
     CourierFullInfoDTO getCourierByPhoneAndPassword(String authRequestCourierJson);
 
+    UserDetailsImpl getCourierPrincipalByPhoneAndPassword(String authRequestCourierJson);
+
     void updateCourier(long id, String updatedCourierJson);
 
     void deleteCourier(long id);
@@ -30,9 +31,13 @@ public interface CourierService {
 
     List<CourierOrderInfoDTO> getAllOrdersOfCourier(long courierId);
 
-    void assignOrdersToAllActiveCouriers(List<CourierBasicInfoDTO> courierBasicInfoDTOS);
+    OrdersAssignmentResultDTO assignOrdersToAllActiveCouriers();
+
+    OrdersAssignmentResultDTO assignOrdersToActiveCouriersInZone(int zone);
 
     void assignNewOrdersToCourier(long id);
 
     CourierPerformanceIndicatorDTO getCourierPerformanceIndicator(long id);
+
+    List<CourierRatingDTO> getCouriersRating(String sortBy, Double afterSortValue, Long afterCourierId, int limit);
 }
@@ -0,0 +1,14 @@
+package edu.senla.service;
+
+public interface DeliveryZoneService {
+
+    int getNumberOfZones();
+
+    int getOrderZone(Double latitude, Double longitude);
+
+    int getLocationZone(double latitude, double longitude);
+
+    int rezoneOrdersOutsideZones();
+
+    int rezoneCouriersOutsideZones();
+}
@@ -0,0 +1,16 @@
+package edu.senla.service;
+
+import edu.senla.model.catalog.MenuCatalogSnapshot;
+
+import java.util.Collection;
+
+public interface MenuCatalogService {
+
+    MenuCatalogSnapshot getSnapshot();
+
+    MenuCatalogSnapshot getSnapshotCovering(Collection<Long> dishIds, Collection<String> containerTypeNames);
+
+    void rebuildSnapshot();
+
+    void refreshDish(long dishId);
+}
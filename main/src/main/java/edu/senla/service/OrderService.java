@@ -16,7 +16,7 @@ public interface OrderService {
 
     void deleteOrder(long id);
 
-    OrderClosingResponseDTO closeOrderForCourier(long id);
+    OrderClosingResponseDTO closeOrderForCourier(long id, Long orderId);
 
     void closeOrderForClient(long clientId, long orderId);
 }
@@ -0,0 +1,10 @@
+package edu.senla.service;
+
+public interface PasswordHashingService {
+
+    String encode(String rawPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    boolean isUpgradeNeeded(String encodedPassword);
+}
@@ -0,0 +1,12 @@
+package edu.senla.service;
+
+import edu.senla.model.entity.Order;
+
+import java.util.List;
+
+public interface TripPlanningService {
+
+    List<Order> chooseTripOrders(Order firstOrder, List<Order> candidateOrders, int maxOrdersPerTrip);
+
+    List<Order> orderTripStops(Order firstOrder, List<Order> tripOrders);
+}
@@ -11,4 +11,6 @@ public interface ValidationService {
     boolean isEmailCorrect(String email);
 
     boolean isPhoneCorrect(String phone);
+
+    boolean isCoordinatesCorrect(Double latitude, Double longitude);
 }
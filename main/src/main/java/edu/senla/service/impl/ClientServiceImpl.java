@@ -7,16 +7,20 @@ import edu.senla.dao.RoleRepository;
 import edu.senla.exeption.BadRequest;
 import edu.senla.exeption.ConflictBetweenData;
 import edu.senla.exeption.NotFound;
+import edu.senla.exeption.ServiceUnavailable;
 import edu.senla.model.dto.*;
-import edu.senla.model.entity.Container;
 import edu.senla.model.entity.Order;
 import edu.senla.model.entity.Role;
 import edu.senla.model.entity.User;
 import edu.senla.model.enums.CRUDOperations;
 import edu.senla.model.enums.OrderStatus;
 import edu.senla.model.enums.Roles;
+import edu.senla.security.PrincipalCache;
+import edu.senla.security.TokenVersionRegistry;
+import edu.senla.security.UserDetailsImpl;
 import edu.senla.service.ClientService;
 import edu.senla.service.ContainerService;
+import edu.senla.service.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.log4j.Log4j2;
@@ -25,12 +29,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 @Transactional
 @RequiredArgsConstructor
@@ -43,7 +47,9 @@ public class ClientServiceImpl extends AbstractService implements ClientService
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final OrderRepository orderRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     public List<UserMainInfoDTO> getAllClients(int pages) {
         log.info("Getting all couriers");
@@ -112,15 +118,29 @@ public class ClientServiceImpl extends AbstractService implements ClientService
         return userMainInfoDTO;
     }
 
-    @SneakyThrows
+    // password hashing may wait for a free hashing thread, so the hash is read and rehashed outside of a transaction
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public UserFullInfoDTO getClientByUsernameAndPassword(String authRequestJson) {
+        return modelMapper.map(getClientIfCredentialsMatch(authRequestJson), UserFullInfoDTO.class);
+    }
+
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public UserDetailsImpl getClientPrincipalByUsernameAndPassword(String authRequestJson) {
+        return UserDetailsImpl.fromClientEntityToClientUserDetails(getClientIfCredentialsMatch(authRequestJson));
+    }
+
+    @SneakyThrows
+    private User getClientIfCredentialsMatch(String authRequestJson) {
         AuthRequestDTO authRequestDTO = objectMapper.readValue(authRequestJson, AuthRequestDTO.class);
         String username = authRequestDTO.getUsername();
         String password = authRequestDTO.getPassword();
         try {
-            User user = userRepository.getByUsername(username);
-            if (!passwordEncoder.matches(password, user.getPassword())) throw new BadRequest();
-            return modelMapper.map(user, UserFullInfoDTO.class);
+            String storedPassword = userRepository.getPasswordByUsername(username);
+            if (storedPassword == null || !passwordHashingService.matches(password, storedPassword)) throw new BadRequest();
+            rehashPasswordIfOutdated(username, storedPassword, password);
+            return Objects.requireNonNull(userRepository.getByUsername(username));
+        } catch (ServiceUnavailable exception) {
+            throw exception;
         } catch (RuntimeException exception) {
             log.error("No user found with username {} and password {}", username, password);
             throw new NotFound("Invalid username or password");
@@ -128,8 +148,9 @@ public class ClientServiceImpl extends AbstractService implements ClientService
     }
 
     public long getCurrentClientId() {
-        String clientUsername = getCurrentClientUsername();
-        return userRepository.getByUsername(clientUsername).getId();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof UserDetailsImpl principal) return principal.getId();
+        return userRepository.getByUsername(getCurrentClientUsername()).getId();
     }
 
     @SneakyThrows
@@ -145,13 +166,17 @@ public class ClientServiceImpl extends AbstractService implements ClientService
         User updatedUser = modelMapper.map(clientDTO, User.class);
         User userWithNewParameters = updateClientsOptions(userToUpdate, updatedUser);
         userRepository.save(userWithNewParameters);
+        invalidatePrincipalAfterCommit(userWithNewParameters.getUsername());
         log.info("User with id {} successfully updated", id);
     }
 
     public void deleteClient(long id) {
         log.info("Deleting client with id: {}", id);
         checkClientExistent(id, CRUDOperations.DELETE);
+        String username = userRepository.getById(id).getUsername();
         userRepository.deleteById(id);
+        invalidatePrincipalAfterCommit(username);
+        runAfterCommit(() -> tokenVersionRegistry.revokeAllClientTokens(id));
         log.info("User with id {} successfully deleted", id);
     }
 
@@ -225,7 +250,24 @@ public class ClientServiceImpl extends AbstractService implements ClientService
             default -> throw new BadRequest("There is no such role");
         };
         user.getRoles().add(roleToSet);
+        int tokenVersion = user.getTokenVersion() + 1;
+        user.setTokenVersion(tokenVersion);
         userRepository.save(user);
+        invalidatePrincipalAfterCommit(user.getUsername());
+        runAfterCommit(() -> tokenVersionRegistry.revokeClientTokens(id, tokenVersion));
+    }
+
+    private void invalidatePrincipalAfterCommit(String username) {
+        runAfterCommit(() -> principalCache.invalidate(username));
+    }
+
+    private void rehashPasswordIfOutdated(String username, String storedPassword, String password) {
+        if (!passwordHashingService.isUpgradeNeeded(storedPassword)) return;
+        try {
+            userRepository.updatePasswordByUsernameIfUnchanged(username, storedPassword, passwordHashingService.encode(password));
+        } catch (ServiceUnavailable exception) {
+            log.warn("Password hash of user {} was left outdated because hashing is busy", username);
+        }
     }
 
     private void checkClientName(String name, CRUDOperations operation) {
@@ -271,12 +313,11 @@ public class ClientServiceImpl extends AbstractService implements ClientService
         UserFullInfoDTO userFullInfoDTO = modelMapper.map(registrationRequestDTO, UserFullInfoDTO.class);
         userFullInfoDTO.setUsername(registrationRequestDTO.getUsername());
         userFullInfoDTO.setRole(roleRepository.getByName(Roles.ROLE_USER.toString()));
-        userFullInfoDTO.setPassword(passwordEncoder.encode(registrationRequestDTO.getPassword()));
+        userFullInfoDTO.setPassword(passwordHashingService.encode(registrationRequestDTO.getPassword()));
         return userFullInfoDTO;
     }
 
     private UserOrderInfoDTO formClientOrderInfoDTO(Order order) {
-        List<Container> containers = containerRepository.findAllByOrderId(order.getId());
         List<ContainerComponentsNamesDTO> containersCourierInfoDTOs = containerRepository.findAllByOrderId(order.getId()).stream()
                 .map(containerService::mapFromContainerEntityToContainerComponentsNamesDTO).toList();
         UserOrderInfoDTO userOrderInfoDTO = new UserOrderInfoDTO();
@@ -285,7 +326,7 @@ public class ClientServiceImpl extends AbstractService implements ClientService
         userOrderInfoDTO.setCourierName(order.getCourier().getFirstName() + " " + order.getCourier().getLastName());
         userOrderInfoDTO.setPaymentType(order.getPaymentType().toString().toLowerCase(Locale.ROOT));
         userOrderInfoDTO.setOrderDeliveredOnTime(order.getStatus().equals(OrderStatus.COMPLETED_ON_TIME));
-        userOrderInfoDTO.setOrderCost(containerService.calculateTotalOrderCost(containers));
+        userOrderInfoDTO.setOrderCost(order.getTotalCost());
         userOrderInfoDTO.setContainers(containersCourierInfoDTOs);
         return userOrderInfoDTO;
     }
@@ -0,0 +1,288 @@
+package edu.senla.service.impl;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// branch and bound over the dish types with a time budget: a local search finds a close container first,
+// then every branch whose lower bound cannot beat it is skipped. Not thread safe, one instance per search
+final class ContainerMacroSearch {
+
+    static final int meat = 0;
+    static final int garnish = 1;
+    static final int salad = 2;
+    static final int sauce = 3;
+
+    // the types with the largest shares are fixed first, so their bounds prune the most
+    private static final int[] searchOrder = {garnish, salad, meat, sauce};
+    private static final int numberOfLocalSearchStarts = 20;
+    private static final int numberOfDirectionalBoundLevels = 2;
+    private static final int maxDirectionalBoundIterations = 20;
+    private static final int deadlineCheckInterval = 256;
+    private static final double negligibleError = 1e-12;
+
+    private final int dimensions;
+    private final double[][] deviations = new double[searchOrder.length][];
+    private final double[][] caloricWeights = new double[searchOrder.length][];
+    // per search level, the range of deviation per unit of caloric weight and the range of caloric weight
+    private final double[][] minDeviationRatios;
+    private final double[][] maxDeviationRatios;
+    private final double[] minCaloricWeights = new double[searchOrder.length];
+    private final double[] maxCaloricWeights = new double[searchOrder.length];
+    // the ratios are undefined for dishes without calories, then branches are not pruned
+    private final boolean isBounded;
+
+    // the deviations of the dishes projected on the deviation of the best container of the local search
+    private double[] direction;
+    private final double[][] projectedDeviations = new double[searchOrder.length][];
+
+    private final int[] picks = new int[searchOrder.length];
+    private int[] bestPicks;
+    private double bestError;
+    private long deadline;
+    private long numberOfNodes;
+    private boolean isTimedOut;
+
+    // per dish type, the deviation vectors of its dishes one after another and their weighted caloric content
+    ContainerMacroSearch(int dimensions, double[][] deviations, double[][] caloricWeights) {
+        this.dimensions = dimensions;
+        this.minDeviationRatios = new double[searchOrder.length][dimensions];
+        this.maxDeviationRatios = new double[searchOrder.length][dimensions];
+        boolean isBounded = true;
+        for (int level = 0; level < searchOrder.length; level++) {
+            this.deviations[level] = deviations[searchOrder[level]];
+            this.caloricWeights[level] = caloricWeights[searchOrder[level]];
+            Arrays.fill(minDeviationRatios[level], Double.POSITIVE_INFINITY);
+            Arrays.fill(maxDeviationRatios[level], Double.NEGATIVE_INFINITY);
+            minCaloricWeights[level] = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < this.caloricWeights[level].length; i++) {
+                double caloricWeight = this.caloricWeights[level][i];
+                isBounded &= caloricWeight > 0;
+                minCaloricWeights[level] = Math.min(minCaloricWeights[level], caloricWeight);
+                maxCaloricWeights[level] = Math.max(maxCaloricWeights[level], caloricWeight);
+                for (int k = 0; k < dimensions; k++) {
+                    double ratio = this.deviations[level][i * dimensions + k] / caloricWeight;
+                    minDeviationRatios[level][k] = Math.min(minDeviationRatios[level][k], ratio);
+                    maxDeviationRatios[level][k] = Math.max(maxDeviationRatios[level][k], ratio);
+                }
+            }
+        }
+        this.isBounded = isBounded;
+    }
+
+    // null if every container has no calories
+    Result search(long timeBudgetNanos) {
+        deadline = System.nanoTime() + timeBudgetNanos;
+        bestError = Double.POSITIVE_INFINITY;
+        searchLocally();
+        projectOnBestDeviation();
+        walk(0, new double[dimensions], 0);
+        if (bestPicks == null) return null;
+        int[] dishes = new int[searchOrder.length];
+        for (int level = 0; level < searchOrder.length; level++) {
+            dishes[searchOrder[level]] = bestPicks[level];
+        }
+        return new Result(dishes[meat], dishes[garnish], dishes[salad], dishes[sauce], bestError, !isTimedOut);
+    }
+
+    // coordinate descent from a few random containers, seeded so that the same catalog gives the same answer
+    private void searchLocally() {
+        Random random = new Random(1);
+        for (int start = 0; start < numberOfLocalSearchStarts; start++) {
+            for (int level = 0; level < searchOrder.length; level++) {
+                picks[level] = random.nextInt(caloricWeights[level].length);
+            }
+            double error = calculateError(picks);
+            boolean isImproved = true;
+            while (isImproved) {
+                isImproved = false;
+                for (int level = 0; level < searchOrder.length; level++) {
+                    int bestPick = picks[level];
+                    for (int i = 0; i < caloricWeights[level].length; i++) {
+                        picks[level] = i;
+                        double candidateError = calculateError(picks);
+                        if (candidateError < error) {
+                            error = candidateError;
+                            bestPick = i;
+                            isImproved = true;
+                        }
+                    }
+                    picks[level] = bestPick;
+                }
+            }
+            if (error < bestError) {
+                bestError = error;
+                bestPicks = picks.clone();
+            }
+        }
+    }
+
+    private void projectOnBestDeviation() {
+        if (bestPicks == null) return;
+        double[] bestDeviation = new double[dimensions];
+        for (int level = 0; level < searchOrder.length; level++) {
+            for (int k = 0; k < dimensions; k++) {
+                bestDeviation[k] += deviations[level][bestPicks[level] * dimensions + k];
+            }
+        }
+        double norm = Math.sqrt(calculateError(bestDeviation, 1));
+        if (norm == 0) return;
+        direction = new double[dimensions];
+        for (int k = 0; k < dimensions; k++) {
+            direction[k] = bestDeviation[k] / norm;
+        }
+        for (int level = 0; level < searchOrder.length; level++) {
+            projectedDeviations[level] = new double[caloricWeights[level].length];
+            for (int i = 0; i < caloricWeights[level].length; i++) {
+                projectedDeviations[level][i] = project(deviations[level], i * dimensions);
+            }
+        }
+    }
+
+    private double project(double[] vectors, int offset) {
+        double projection = 0;
+        for (int k = 0; k < dimensions; k++) {
+            projection += direction[k] * vectors[offset + k];
+        }
+        return projection;
+    }
+
+    private double calculateError(int[] picks) {
+        double[] deviation = new double[dimensions];
+        double caloricWeight = 0;
+        for (int level = 0; level < searchOrder.length; level++) {
+            caloricWeight += caloricWeights[level][picks[level]];
+            for (int k = 0; k < dimensions; k++) {
+                deviation[k] += deviations[level][picks[level] * dimensions + k];
+            }
+        }
+        return calculateError(deviation, caloricWeight);
+    }
+
+    private double calculateError(double[] deviation, double caloricWeight) {
+        if (caloricWeight <= 0) return Double.POSITIVE_INFINITY;
+        double squaredDeviation = 0;
+        for (int k = 0; k < dimensions; k++) {
+            squaredDeviation += deviation[k] * deviation[k];
+        }
+        return squaredDeviation / (caloricWeight * caloricWeight);
+    }
+
+    private void walk(int level, double[] deviation, double caloricWeight) {
+        if (bestError <= negligibleError || isTimedOut) return;
+        if (++numberOfNodes % deadlineCheckInterval == 0 && System.nanoTime() > deadline) {
+            isTimedOut = true;
+            return;
+        }
+        if (level > 0 && level <= numberOfDirectionalBoundLevels && isBounded && direction != null) {
+            double bound = calculateDirectionalLowerBound(project(deviation, 0), caloricWeight, level);
+            if (bound > 0 && bound * bound >= bestError) return;
+        }
+        int numberOfDishes = caloricWeights[level].length;
+        if (level == searchOrder.length - 1) {
+            for (int i = 0; i < numberOfDishes; i++) {
+                double squaredDeviation = 0;
+                for (int k = 0; k < dimensions; k++) {
+                    double containerDeviation = deviation[k] + deviations[level][i * dimensions + k];
+                    squaredDeviation += containerDeviation * containerDeviation;
+                }
+                double containerCaloricWeight = caloricWeight + caloricWeights[level][i];
+                if (containerCaloricWeight <= 0) continue;
+                double error = squaredDeviation / (containerCaloricWeight * containerCaloricWeight);
+                if (error < bestError) {
+                    picks[level] = i;
+                    bestError = error;
+                    bestPicks = picks.clone();
+                }
+            }
+            return;
+        }
+        double[] childDeviations = new double[numberOfDishes * dimensions];
+        double[] childCaloricWeights = new double[numberOfDishes];
+        double[] bounds = new double[numberOfDishes];
+        long[] boundsAndDishes = new long[numberOfDishes];
+        int numberOfChildren = 0;
+        for (int i = 0; i < numberOfDishes; i++) {
+            for (int k = 0; k < dimensions; k++) {
+                childDeviations[i * dimensions + k] = deviation[k] + deviations[level][i * dimensions + k];
+            }
+            childCaloricWeights[i] = caloricWeight + caloricWeights[level][i];
+            bounds[i] = calculateLowerBound(childDeviations, i * dimensions, childCaloricWeights[i], level + 1);
+            // non-negative floats order the same way as their bits
+            if (bounds[i] < bestError) boundsAndDishes[numberOfChildren++] = (long) Float.floatToIntBits((float) bounds[i]) << 32 | i;
+        }
+        // children are visited from the lowest bound, so close containers are found early and prune the rest
+        Arrays.sort(boundsAndDishes, 0, numberOfChildren);
+        for (int j = 0; j < numberOfChildren; j++) {
+            int i = (int) boundsAndDishes[j];
+            if (bounds[i] >= bestError) break;
+            picks[level] = i;
+            walk(level + 1, Arrays.copyOfRange(childDeviations, i * dimensions, (i + 1) * dimensions), childCaloricWeights[i]);
+        }
+    }
+
+    // the error of a container is at least the squared distance from zero of the box that holds its deviation
+    // per unit of caloric weight. Per dimension the box is found by trying the lightest and the heaviest dish
+    // of every type still to be picked
+    private double calculateLowerBound(double[] childDeviations, int offset, double caloricWeight, int level) {
+        if (!isBounded) return 0;
+        int numberOfLevels = searchOrder.length - level;
+        double squaredDistance = 0;
+        for (int k = 0; k < dimensions; k++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int mask = 0; mask < 1 << numberOfLevels; mask++) {
+                double minDeviation = childDeviations[offset + k];
+                double maxDeviation = minDeviation;
+                double totalCaloricWeight = caloricWeight;
+                for (int j = 0; j < numberOfLevels; j++) {
+                    double dishCaloricWeight = (mask >> j & 1) == 0 ? minCaloricWeights[level + j] : maxCaloricWeights[level + j];
+                    minDeviation += dishCaloricWeight * minDeviationRatios[level + j][k];
+                    maxDeviation += dishCaloricWeight * maxDeviationRatios[level + j][k];
+                    totalCaloricWeight += dishCaloricWeight;
+                }
+                min = Math.min(min, minDeviation / totalCaloricWeight);
+                max = Math.max(max, maxDeviation / totalCaloricWeight);
+            }
+            double distance = min > 0 ? min : max < 0 ? -max : 0;
+            squaredDistance += distance * distance;
+        }
+        return squaredDistance;
+    }
+
+    // the error is at least the squared projected deviation per unit of caloric weight. Its minimum over the
+    // dishes still to be picked is found by Dinkelbach iterations, each a separate minimum per dish type
+    private double calculateDirectionalLowerBound(double projectedDeviation, double caloricWeight, int level) {
+        double numerator = projectedDeviation;
+        double denominator = caloricWeight;
+        for (int j = level; j < searchOrder.length; j++) {
+            numerator += projectedDeviations[j][0];
+            denominator += caloricWeights[j][0];
+        }
+        double ratio = numerator / denominator;
+        for (int iteration = 0; iteration < maxDirectionalBoundIterations; iteration++) {
+            numerator = projectedDeviation;
+            denominator = caloricWeight;
+            for (int j = level; j < searchOrder.length; j++) {
+                int bestDish = 0;
+                double bestValue = Double.POSITIVE_INFINITY;
+                for (int i = 0; i < caloricWeights[j].length; i++) {
+                    double value = projectedDeviations[j][i] - ratio * caloricWeights[j][i];
+                    if (value < bestValue) {
+                        bestValue = value;
+                        bestDish = i;
+                    }
+                }
+                numerator += projectedDeviations[j][bestDish];
+                denominator += caloricWeights[j][bestDish];
+            }
+            double nextRatio = numerator / denominator;
+            if (nextRatio >= ratio - negligibleError) return nextRatio;
+            ratio = nextRatio;
+        }
+        return ratio;
+    }
+
+    // exact is false if the time budget ran out before every other container was ruled out
+    record Result(int meat, int garnish, int salad, int sauce, double error, boolean isExact) {
+    }
+}
@@ -0,0 +1,135 @@
+package edu.senla.service.impl;
+
+import edu.senla.exeption.BadRequest;
+import edu.senla.exeption.NotFound;
+import edu.senla.model.catalog.MenuCatalogSnapshot;
+import edu.senla.model.dto.ContainerComponentsDTO;
+import edu.senla.model.dto.ContainerComponentsParamsDTO;
+import edu.senla.model.dto.ContainerMacroTargetsDTO;
+import edu.senla.model.dto.OptimalContainerDTO;
+import edu.senla.model.enums.DishType;
+import edu.senla.service.ContainerOptimizationService;
+import edu.senla.service.ContainerService;
+import edu.senla.service.MenuCatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+@RequiredArgsConstructor
+@Service
+@Log4j2
+public class ContainerOptimizationServiceImpl extends AbstractService implements ContainerOptimizationService {
+
+    private final MenuCatalogService menuCatalogService;
+    private final ContainerService containerService;
+    private static final double[] percentagesByTotalWeight = {
+            ContainerServiceImpl.percentageOfMeatByTotalWeight, ContainerServiceImpl.percentageOfGarnishByTotalWeight,
+            ContainerServiceImpl.percentageOfSaladByTotalWeight, ContainerServiceImpl.percentageOfSauceByTotalWeight};
+
+    @Value("${calculator.optimalContainer.timeBudget:30}")
+    private long timeBudget;
+
+    @SneakyThrows
+    public OptimalContainerDTO findOptimalContainer(String containerMacroTargetsJson) {
+        ContainerMacroTargetsDTO targets = objectMapper.readValue(containerMacroTargetsJson, ContainerMacroTargetsDTO.class);
+        MenuCatalogSnapshot catalog = menuCatalogService.getSnapshot();
+        MenuCatalogSnapshot.ContainerTypeEntry containerType = catalog.getContainerType(targets.getTypeOfContainer());
+        if (containerType == null) {
+            log.error("Attempt to find the optimal container of non-existent type {}", targets.getTypeOfContainer());
+            throw new NotFound("There is no such type of container");
+        }
+        List<IntToDoubleFunction> nutrients = new ArrayList<>();
+        List<Double> amounts = new ArrayList<>();
+        addTarget(targets.getProteins(), catalog::getProteins, nutrients, amounts);
+        addTarget(targets.getFats(), catalog::getFats, nutrients, amounts);
+        addTarget(targets.getCarbohydrates(), catalog::getCarbohydrates, nutrients, amounts);
+        if (nutrients.isEmpty()) {
+            log.error("Attempt to find the optimal container without macro targets");
+            throw new BadRequest("At least one of proteins, fats or carbohydrates has to be set");
+        }
+        int[][] dishes = getDishesWithInformationByType(catalog);
+        double caloricContent = containerType.caloricContent();
+        int dimensions = nutrients.size();
+        double[][] deviations = new double[dishes.length][];
+        double[][] caloricWeights = new double[dishes.length][];
+        for (int type = 0; type < dishes.length; type++) {
+            double percentage = percentagesByTotalWeight[type];
+            deviations[type] = new double[dishes[type].length * dimensions];
+            caloricWeights[type] = new double[dishes[type].length];
+            for (int i = 0; i < dishes[type].length; i++) {
+                int dish = dishes[type][i];
+                double dishCaloricContent = catalog.getCaloricContent(dish);
+                caloricWeights[type][i] = percentage * dishCaloricContent;
+                for (int k = 0; k < dimensions; k++) {
+                    double scaledNutrient = nutrients.get(k).applyAsDouble(dish) * caloricContent / amounts.get(k);
+                    deviations[type][i * dimensions + k] = percentage * (scaledNutrient - dishCaloricContent);
+                }
+            }
+        }
+        ContainerMacroSearch.Result result = new ContainerMacroSearch(dimensions, deviations, caloricWeights).search(TimeUnit.MILLISECONDS.toNanos(timeBudget));
+        if (result == null) {
+            log.error("No container of type {} has calories to calculate the weight of the dishes", targets.getTypeOfContainer());
+            throw new NotFound("There are no dishes with caloric content to compose the container");
+        }
+        int[] components = {dishes[ContainerMacroSearch.meat][result.meat()], dishes[ContainerMacroSearch.garnish][result.garnish()],
+                dishes[ContainerMacroSearch.salad][result.salad()], dishes[ContainerMacroSearch.sauce][result.sauce()]};
+        if (!result.isExact()) {
+            log.warn("The time budget of {} ms ran out, returning the closest container found for targets {}", timeBudget, targets);
+        }
+        OptimalContainerDTO optimalContainer = mapToOptimalContainerDTO(targets.getTypeOfContainer(), components, result.isExact(), catalog);
+        log.info("Found the optimal container for targets {}: {}", targets, optimalContainer);
+        return optimalContainer;
+    }
+
+    private void addTarget(Double amount, IntToDoubleFunction nutrient, List<IntToDoubleFunction> nutrients, List<Double> amounts) {
+        if (amount == null) return;
+        if (amount <= 0) {
+            log.error("Attempt to find the optimal container with non-positive macro target {}", amount);
+            throw new BadRequest("Macro targets have to be positive");
+        }
+        nutrients.add(nutrient);
+        amounts.add(amount);
+    }
+
+    private int[][] getDishesWithInformationByType(MenuCatalogSnapshot catalog) {
+        DishType[] dishTypes = {DishType.MEAT, DishType.GARNISH, DishType.SALAD, DishType.SAUCE};
+        int[][] dishes = new int[dishTypes.length][];
+        for (int type = 0; type < dishTypes.length; type++) {
+            DishType dishType = dishTypes[type];
+            dishes[type] = IntStream.range(0, catalog.getNumberOfDishes())
+                    .filter(d -> catalog.getDishType(d) == dishType && catalog.hasDishInformation(d)).toArray();
+            if (dishes[type].length == 0) {
+                log.error("There are no dishes of type {} with dish information", dishType);
+                throw new NotFound("There are no dishes of type " + dishType + " with information to compose the container");
+            }
+        }
+        return dishes;
+    }
+
+    private OptimalContainerDTO mapToOptimalContainerDTO(String typeOfContainer, int[] components, boolean isExact, MenuCatalogSnapshot catalog) {
+        ContainerComponentsDTO containerComponents = new ContainerComponentsDTO(typeOfContainer, catalog.getDishId(components[0]),
+                catalog.getDishId(components[1]), catalog.getDishId(components[2]), catalog.getDishId(components[3]));
+        ContainerComponentsParamsDTO containerParams = containerService.calculateContainerParams(containerComponents);
+        double[] weights = {containerParams.getMeatWeight(), containerParams.getGarnishWeight(), containerParams.getSaladWeight(), containerParams.getSauceWeight()};
+        return new OptimalContainerDTO(containerComponents, containerParams,
+                Math.round(calculateNutrientOfContainer(weights, components, catalog::getProteins)),
+                Math.round(calculateNutrientOfContainer(weights, components, catalog::getFats)),
+                Math.round(calculateNutrientOfContainer(weights, components, catalog::getCarbohydrates)), isExact);
+    }
+
+    private double calculateNutrientOfContainer(double[] weights, int[] dishes, IntToDoubleFunction nutrientIn100Grams) {
+        double nutrient = 0;
+        for (int i = 0; i < dishes.length; i++) {
+            nutrient += 0.01 * weights[i] * nutrientIn100Grams.applyAsDouble(dishes[i]);
+        }
+        return nutrient;
+    }
+}
@@ -0,0 +1,70 @@
+package edu.senla.service.impl;
+
+import edu.senla.model.dto.ContainerComponentsDTO;
+import edu.senla.model.dto.ContainerComponentsParamsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+// results belong to the catalog version they were calculated from and must not be modified
+@Component
+public class ContainerParamsCache {
+
+    private final AtomicReference<Generation> generation = new AtomicReference<>(new Generation(0));
+
+    @Value("${calculator.cache.maxSize:10000}")
+    private int maxSize;
+
+    public ContainerComponentsParamsDTO get(Key key, long catalogVersion) {
+        return getGeneration(catalogVersion).results().get(key);
+    }
+
+    public void put(Key key, long catalogVersion, ContainerComponentsParamsDTO containerComponentsParams) {
+        Generation currentGeneration = getGeneration(catalogVersion);
+        if (currentGeneration.catalogVersion() != catalogVersion) return;
+        Map<Key, ContainerComponentsParamsDTO> results = currentGeneration.results();
+        if (results.size() >= maxSize) evict(results);
+        results.put(key, containerComponentsParams);
+    }
+
+    public int size() {
+        return generation.get().results().size();
+    }
+
+    private Generation getGeneration(long catalogVersion) {
+        Generation currentGeneration = generation.get();
+        while (currentGeneration.catalogVersion() < catalogVersion) {
+            Generation newGeneration = new Generation(catalogVersion);
+            if (generation.compareAndSet(currentGeneration, newGeneration)) return newGeneration;
+            currentGeneration = generation.get();
+        }
+        return currentGeneration;
+    }
+
+    private void evict(Map<Key, ContainerComponentsParamsDTO> results) {
+        Iterator<Key> keys = results.keySet().iterator();
+        while (results.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    public record Key(String typeOfContainer, long meat, long garnish, long salad, long sauce) {
+
+        public static Key of(ContainerComponentsDTO containerComponentsDTO) {
+            return new Key(containerComponentsDTO.getTypeOfContainer(), containerComponentsDTO.getMeat(), containerComponentsDTO.getGarnish(),
+                    containerComponentsDTO.getSalad(), containerComponentsDTO.getSauce());
+        }
+    }
+
+    private record Generation(long catalogVersion, Map<Key, ContainerComponentsParamsDTO> results) {
+
+        private Generation(long catalogVersion) {
+            this(catalogVersion, new ConcurrentHashMap<>());
+        }
+    }
+}
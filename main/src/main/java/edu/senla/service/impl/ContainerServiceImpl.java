@@ -1,24 +1,28 @@
 package edu.senla.service.impl;
 
-import edu.senla.dao.DishRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
 import edu.senla.dao.TypeOfContainerRepository;
 import edu.senla.exeption.BadRequest;
 import edu.senla.exeption.NotFound;
+import edu.senla.model.catalog.MenuCatalogSnapshot;
 import edu.senla.model.dto.ContainerComponentsDTO;
 import edu.senla.model.dto.ContainerComponentsNamesDTO;
 import edu.senla.model.dto.ContainerComponentsParamsDTO;
+import edu.senla.model.dto.ContainerParamsCalculationDTO;
 import edu.senla.model.entity.Container;
 import edu.senla.model.entity.Order;
 import edu.senla.model.enums.DishType;
 import edu.senla.service.ContainerService;
-import edu.senla.service.DishService;
-import edu.senla.service.ContainerTypeService;
+import edu.senla.service.MenuCatalogService;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -28,36 +32,63 @@ import java.util.stream.Collectors;
 @Log4j2
 public class ContainerServiceImpl extends AbstractService implements ContainerService {
 
-    private final DishService dishService;
-    private final ContainerTypeService containerTypeService;
-    private final DishRepository dishRepository;
+    private final MenuCatalogService menuCatalogService;
     private final TypeOfContainerRepository typeOfContainerRepository;
-    private static final double percentageOfMeatByTotalWeight = 0.2;
-    private static final double percentageOfGarnishByTotalWeight = 0.4;
-    private static final double percentageOfSaladByTotalWeight = 0.3;
-    private static final double percentageOfSauceByTotalWeight = 0.1;
+    private final ContainerParamsCache containerParamsCache;
+    static final double percentageOfMeatByTotalWeight = 0.2;
+    static final double percentageOfGarnishByTotalWeight = 0.4;
+    static final double percentageOfSaladByTotalWeight = 0.3;
+    static final double percentageOfSauceByTotalWeight = 0.1;
+    private static final String incorrectContainerMessage = "There is no such type of container or non-existent dish found in container";
+    private static final String notEnoughDishInformationMessage = "There is not enough information about the dishes to calculate";
+
+    @Value("${calculator.batch.maxSize:5000}")
+    private int maxBatchSize;
 
     public List<ContainerComponentsDTO> filterContainers(List<ContainerComponentsDTO> containers) {
-        return containers.stream().filter(this::isContainerComponentsCorrect).collect(Collectors.toList());
+        MenuCatalogSnapshot catalog = getCatalogCovering(containers);
+        return containers.stream().filter(c -> isContainerComponentsCorrect(c, catalog)).collect(Collectors.toList());
     }
 
     public double calculateTotalOrderCost(List<Container> containers) {
-        return containers.stream()
-                .map(c -> typeOfContainerRepository.getPriceByName(c.getContainerType().getName())).mapToDouble(Double::doubleValue).sum();
+        return containers.stream().mapToDouble(Container::getPrice).sum();
     }
 
     @SneakyThrows
     public ContainerComponentsParamsDTO calculateWeightOfDishes(String containerComponentsJson) {
-        ContainerComponentsDTO containerComponentsDTO = objectMapper.readValue(containerComponentsJson, ContainerComponentsDTO.class);
-        if (!isContainerComponentsCorrect(containerComponentsDTO))
-            throw new NotFound("There is no such type of container or non-existent dish found in container");
-        if (!dishService.isAllDishesHaveDishInformation(containerComponentsDTO))
-            throw new BadRequest("There is not enough information about the dishes to calculate");
-        ContainerComponentsParamsDTO containerComponentsParamsDTO = calculateWeightAndCaloricContent(containerComponentsDTO);
+        return calculateContainerParams(objectMapper.readValue(containerComponentsJson, ContainerComponentsDTO.class));
+    }
+
+    public ContainerComponentsParamsDTO calculateContainerParams(ContainerComponentsDTO containerComponentsDTO) {
+        ContainerParamsCache.Key key = ContainerParamsCache.Key.of(containerComponentsDTO);
+        MenuCatalogSnapshot publishedCatalog = menuCatalogService.getSnapshot();
+        ContainerComponentsParamsDTO cachedContainerComponentsParams = containerParamsCache.get(key, publishedCatalog.getVersion());
+        if (cachedContainerComponentsParams != null) return cachedContainerComponentsParams;
+        MenuCatalogSnapshot catalog = getCatalogCovering(List.of(containerComponentsDTO));
+        if (!isContainerComponentsCorrect(containerComponentsDTO, catalog))
+            throw new NotFound(incorrectContainerMessage);
+        if (!isAllDishesHaveDishInformation(containerComponentsDTO, catalog))
+            throw new BadRequest(notEnoughDishInformationMessage);
+        ContainerComponentsParamsDTO containerComponentsParamsDTO = calculateAndCacheWeightAndCaloricContent(containerComponentsDTO, key, catalog, publishedCatalog);
         log.info("Calculated the weight of the dishes for the container size {} : {}", containerComponentsDTO.getTypeOfContainer(), containerComponentsParamsDTO);
         return containerComponentsParamsDTO;
     }
 
+    @SneakyThrows
+    public List<ContainerParamsCalculationDTO> calculateWeightOfDishesInBatch(String containerComponentsListJson) {
+        List<ContainerComponentsDTO> containers = objectMapper.readValue(containerComponentsListJson, new TypeReference<List<ContainerComponentsDTO>>() {});
+        if (containers.size() > maxBatchSize) {
+            log.error("Attempt to calculate {} containers at once failed, the limit is {}", containers.size(), maxBatchSize);
+            throw new BadRequest("No more than " + maxBatchSize + " containers can be calculated at once");
+        }
+        MenuCatalogSnapshot publishedCatalog = menuCatalogService.getSnapshot();
+        MenuCatalogSnapshot catalog = getCatalogCovering(containers);
+        List<ContainerParamsCalculationDTO> calculations = containers.parallelStream()
+                .map(c -> calculateWeightOfDishes(c, catalog, publishedCatalog)).toList();
+        log.info("Calculated the weight of the dishes for {} containers", containers.size());
+        return calculations;
+    }
+
     public ContainerComponentsNamesDTO mapFromContainerEntityToContainerComponentsNamesDTO(Container container) {
         ContainerComponentsNamesDTO containerComponentsNamesDTO = new ContainerComponentsNamesDTO();
         /*containerComponentsNamesDTO.setMeat(dishRepository.getNameById(container.getMeat()));
@@ -70,24 +101,64 @@ public class ContainerServiceImpl extends AbstractService implements ContainerSe
 
     public Container mapFromContainerComponentsDTOToContainerEntity(ContainerComponentsDTO containerComponentsDTO, Order order) {
         Container container = modelMapper.map(containerComponentsDTO, Container.class);
-        container.setContainerType(containerTypeService.getTypeOfContainerByName(containerComponentsDTO.getTypeOfContainer()));
+        String containerTypeName = containerComponentsDTO.getTypeOfContainer();
+        MenuCatalogSnapshot.ContainerTypeEntry containerType = menuCatalogService
+                .getSnapshotCovering(List.of(), Collections.singletonList(containerTypeName)).getContainerType(containerTypeName);
+        container.setContainerType(containerType == null ? null : typeOfContainerRepository.getById(containerType.caloricContent()));
+        container.setPrice(containerType == null ? 0 : containerType.price());
         container.setOrder(order);
         return container;
     }
 
-    private boolean isContainerComponentsCorrect(ContainerComponentsDTO containerComponentsDTO) {
-        return containerTypeService.isContainerTypeExists(containerComponentsDTO.getTypeOfContainer()) && isContainerFilledCorrectly(containerComponentsDTO);
+    private MenuCatalogSnapshot getCatalogCovering(List<ContainerComponentsDTO> containers) {
+        List<Long> dishIds = new ArrayList<>(containers.size() * 4);
+        List<String> containerTypeNames = new ArrayList<>(containers.size());
+        for (ContainerComponentsDTO container : containers) {
+            if (container == null) continue;
+            dishIds.addAll(List.of(container.getMeat(), container.getGarnish(), container.getSalad(), container.getSauce()));
+            containerTypeNames.add(container.getTypeOfContainer());
+        }
+        return menuCatalogService.getSnapshotCovering(dishIds, containerTypeNames);
+    }
+
+    private ContainerParamsCalculationDTO calculateWeightOfDishes(ContainerComponentsDTO containerComponentsDTO, MenuCatalogSnapshot catalog,
+                                                                 MenuCatalogSnapshot publishedCatalog) {
+        if (containerComponentsDTO == null || !isContainerComponentsCorrect(containerComponentsDTO, catalog))
+            return new ContainerParamsCalculationDTO(null, incorrectContainerMessage);
+        if (!isAllDishesHaveDishInformation(containerComponentsDTO, catalog))
+            return new ContainerParamsCalculationDTO(null, notEnoughDishInformationMessage);
+        ContainerParamsCache.Key key = ContainerParamsCache.Key.of(containerComponentsDTO);
+        ContainerComponentsParamsDTO cachedContainerComponentsParams = containerParamsCache.get(key, publishedCatalog.getVersion());
+        if (cachedContainerComponentsParams != null) return new ContainerParamsCalculationDTO(cachedContainerComponentsParams, null);
+        return new ContainerParamsCalculationDTO(calculateAndCacheWeightAndCaloricContent(containerComponentsDTO, key, catalog, publishedCatalog), null);
     }
 
-    private ContainerComponentsParamsDTO calculateWeightAndCaloricContent(ContainerComponentsDTO containerComponentsDTO) {
+    private ContainerComponentsParamsDTO calculateAndCacheWeightAndCaloricContent(ContainerComponentsDTO containerComponentsDTO, ContainerParamsCache.Key key,
+                                                                                  MenuCatalogSnapshot catalog, MenuCatalogSnapshot publishedCatalog) {
+        ContainerComponentsParamsDTO containerComponentsParamsDTO = calculateWeightAndCaloricContent(containerComponentsDTO, catalog);
+        if (catalog == publishedCatalog) containerParamsCache.put(key, catalog.getVersion(), containerComponentsParamsDTO);
+        return containerComponentsParamsDTO;
+    }
+
+    private boolean isContainerComponentsCorrect(ContainerComponentsDTO containerComponentsDTO, MenuCatalogSnapshot catalog) {
+        return catalog.getContainerType(containerComponentsDTO.getTypeOfContainer()) != null && isContainerFilledCorrectly(containerComponentsDTO, catalog);
+    }
+
+    private boolean isAllDishesHaveDishInformation(ContainerComponentsDTO containerComponentsDTO, MenuCatalogSnapshot catalog) {
+        return catalog.hasDishInformation(catalog.indexOfDish(containerComponentsDTO.getMeat()))
+                && catalog.hasDishInformation(catalog.indexOfDish(containerComponentsDTO.getGarnish()))
+                && catalog.hasDishInformation(catalog.indexOfDish(containerComponentsDTO.getSalad()))
+                && catalog.hasDishInformation(catalog.indexOfDish(containerComponentsDTO.getSauce()));
+    }
+
+    private ContainerComponentsParamsDTO calculateWeightAndCaloricContent(ContainerComponentsDTO containerComponentsDTO, MenuCatalogSnapshot catalog) {
         ContainerComponentsParamsDTO containerComponentsParamsDTO = new ContainerComponentsParamsDTO();
-        int numberOfCalories = 0;
-        //int numberOfCalories = (int) typeOfContainerRepository.getByName(containerComponentsDTO.getTypeOfContainer()).getNumberOfCalories();
-        containerComponentsParamsDTO.setTotalCaloricContent(Math.round(numberOfCalories));
-        double meatCaloricContentIn100Grams = dishRepository.getById(containerComponentsDTO.getMeat()).getDishInformation().getCaloricContent();
-        double garnishCaloricContentIn100Grams = dishRepository.getById(containerComponentsDTO.getGarnish()).getDishInformation().getCaloricContent();
-        double saladCaloricContentIn100Grams = dishRepository.getById(containerComponentsDTO.getSalad()).getDishInformation().getCaloricContent();
-        double sauceCaloricContentIn100Grams = dishRepository.getById(containerComponentsDTO.getSauce()).getDishInformation().getCaloricContent();
+        long numberOfCalories = catalog.getContainerType(containerComponentsDTO.getTypeOfContainer()).caloricContent();
+        containerComponentsParamsDTO.setTotalCaloricContent(numberOfCalories);
+        double meatCaloricContentIn100Grams = catalog.getCaloricContent(catalog.indexOfDish(containerComponentsDTO.getMeat()));
+        double garnishCaloricContentIn100Grams = catalog.getCaloricContent(catalog.indexOfDish(containerComponentsDTO.getGarnish()));
+        double saladCaloricContentIn100Grams = catalog.getCaloricContent(catalog.indexOfDish(containerComponentsDTO.getSalad()));
+        double sauceCaloricContentIn100Grams = catalog.getCaloricContent(catalog.indexOfDish(containerComponentsDTO.getSauce()));
         double totalWeight = 100 * (numberOfCalories / (percentageOfMeatByTotalWeight * meatCaloricContentIn100Grams
                 + percentageOfGarnishByTotalWeight * garnishCaloricContentIn100Grams + percentageOfSaladByTotalWeight * saladCaloricContentIn100Grams
                 + percentageOfSauceByTotalWeight * sauceCaloricContentIn100Grams));
@@ -118,16 +189,17 @@ public class ContainerServiceImpl extends AbstractService implements ContainerSe
         containerComponentsParamsDTO.setSauceCaloricContent(Math.round(calculateCaloricContentOfDish(sauceWeight, sauceCaloricContentIn100Grams)));
     }
 
-    private boolean isContainerFilledCorrectly(ContainerComponentsDTO containerComponentsDTO) {
-        try {
-            boolean isMeatTypeCorrect = dishRepository.getById(containerComponentsDTO.getMeat()).getType().equals(DishType.MEAT);
-            boolean isGarnishTypeCorrect = dishRepository.getById(containerComponentsDTO.getGarnish()).getType().equals(DishType.GARNISH);
-            boolean isSaladTypeCorrect = dishRepository.getById(containerComponentsDTO.getSalad()).getType().equals(DishType.SALAD);
-            boolean isSauceTypeCorrect = dishRepository.getById(containerComponentsDTO.getSauce()).getType().equals(DishType.SAUCE);
-            return isMeatTypeCorrect && isGarnishTypeCorrect && isSaladTypeCorrect && isSauceTypeCorrect;
-        } catch (RuntimeException exception) {
-            return false;
-        }
+    private boolean isContainerFilledCorrectly(ContainerComponentsDTO containerComponentsDTO, MenuCatalogSnapshot catalog) {
+        boolean isMeatTypeCorrect = isDishOfType(containerComponentsDTO.getMeat(), DishType.MEAT, catalog);
+        boolean isGarnishTypeCorrect = isDishOfType(containerComponentsDTO.getGarnish(), DishType.GARNISH, catalog);
+        boolean isSaladTypeCorrect = isDishOfType(containerComponentsDTO.getSalad(), DishType.SALAD, catalog);
+        boolean isSauceTypeCorrect = isDishOfType(containerComponentsDTO.getSauce(), DishType.SAUCE, catalog);
+        return isMeatTypeCorrect && isGarnishTypeCorrect && isSaladTypeCorrect && isSauceTypeCorrect;
+    }
+
+    private boolean isDishOfType(long dishId, DishType dishType, MenuCatalogSnapshot catalog) {
+        int dish = catalog.indexOfDish(dishId);
+        return dish >= 0 && catalog.getDishType(dish) == dishType;
     }
 
     private double calculateCaloricContentOfDish(double dishWeight, double dishCaloricContentIn100Grams) {
@@ -9,6 +9,7 @@ import edu.senla.model.dto.ContainerTypeForUpdateDTO;
 import edu.senla.model.entity.ContainerType;
 import edu.senla.model.enums.CRUDOperations;
 import edu.senla.service.ContainerTypeService;
+import edu.senla.service.MenuCatalogService;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.log4j.Log4j2;
@@ -27,6 +28,7 @@ import java.util.List;
 public class ContainerTypeServiceImpl extends AbstractService implements ContainerTypeService {
 
     private final TypeOfContainerRepository typeOfContainerRepository;
+    private final MenuCatalogService menuCatalogService;
 
     public List<ContainerTypeDTO> getAllTypesOfContainer(int pages) {
         log.info("Getting all types of container");
@@ -43,6 +45,7 @@ public class ContainerTypeServiceImpl extends AbstractService implements Contain
         checkTypeOfContainerNumberOfCalories(newContainerTypeDTO.getNumberOfCalories());
         ContainerType containerType = modelMapper.map(newContainerTypeDTO, ContainerType.class);
         typeOfContainerRepository.save(containerType);
+        runAfterCommit(menuCatalogService::rebuildSnapshot);
         log.info("Type of container with name and number of calories successfully created");
     }
 
@@ -64,6 +67,7 @@ public class ContainerTypeServiceImpl extends AbstractService implements Contain
         ContainerType updatedContainerType = modelMapper.map(updatedTypeOfContainerDTODTO, ContainerType.class);
         ContainerType containerTypeWithNewParameters = updateTypeOfContainerOptions(containerTypeToUpdate, updatedContainerType);
         typeOfContainerRepository.save(containerTypeWithNewParameters);
+        runAfterCommit(menuCatalogService::rebuildSnapshot);
         log.info("Type of container with id {} successfully updated", id);
     }
 
@@ -71,6 +75,7 @@ public class ContainerTypeServiceImpl extends AbstractService implements Contain
         log.info("Deleting type of container with id: {}", id);
         checkTypeOfContainerExistence(id);
         typeOfContainerRepository.deleteById(id);
+        runAfterCommit(menuCatalogService::rebuildSnapshot);
         log.info("Type of container with id {} successfully deleted", id);
     }
 
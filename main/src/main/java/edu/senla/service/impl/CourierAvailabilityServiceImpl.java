@@ -0,0 +1,82 @@
+package edu.senla.service.impl;
+
+import edu.senla.dao.CourierRepository;
+import edu.senla.dao.OrderRepository;
+import edu.senla.model.dto.CourierAvailabilityDTO;
+import edu.senla.model.entity.Courier;
+import edu.senla.model.entity.Order;
+import edu.senla.model.enums.CourierStatus;
+import edu.senla.model.enums.OrderStatus;
+import edu.senla.service.CourierAvailabilityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RequiredArgsConstructor
+@Service
+@Log4j2
+public class CourierAvailabilityServiceImpl implements CourierAvailabilityService {
+
+    private static final List<OrderStatus> openOrderStatuses = List.of(OrderStatus.IN_PROCESS, OrderStatus.RECEIPT_CONFIRMED);
+
+    private final CourierRepository courierRepository;
+    private final OrderRepository orderRepository;
+    private final Map<Long, CourierAvailabilityDTO> availability = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void seedAvailability() {
+        courierRepository.findAll().forEach(c -> availability.putIfAbsent(c.getId(), new CourierAvailabilityDTO(c.getStatus(), null)));
+        orderRepository.getAllByStatusIn(openOrderStatuses).stream()
+                .filter(o -> o.getCourier() != null)
+                .forEach(o -> availability.computeIfPresent(o.getCourier().getId(),
+                        (id, a) -> new CourierAvailabilityDTO(a.getStatus(), o.getId())));
+        log.info("Courier availability index seeded with {} couriers", availability.size());
+    }
+
+    public boolean isCourierActive(long courierId) {
+        CourierAvailabilityDTO courierAvailability = getAvailability(courierId);
+        return courierAvailability != null && CourierStatus.ACTIVE.equals(courierAvailability.getStatus());
+    }
+
+    public boolean isCourierOccupied(long courierId) {
+        CourierAvailabilityDTO courierAvailability = getAvailability(courierId);
+        return courierAvailability != null && courierAvailability.getCurrentOrderId() != null;
+    }
+
+    public void updateCourierStatus(long courierId, CourierStatus status) {
+        availability.computeIfPresent(courierId, (id, a) -> new CourierAvailabilityDTO(status, a.getCurrentOrderId()));
+    }
+
+    public void assignOrderToCourier(long courierId, long orderId) {
+        availability.computeIfPresent(courierId, (id, a) -> new CourierAvailabilityDTO(a.getStatus(), orderId));
+    }
+
+    public void releaseCourier(long courierId) {
+        availability.computeIfPresent(courierId, (id, a) -> new CourierAvailabilityDTO(a.getStatus(), null));
+    }
+
+    public void removeCourier(long courierId) {
+        availability.remove(courierId);
+    }
+
+    private CourierAvailabilityDTO getAvailability(long courierId) {
+        CourierAvailabilityDTO courierAvailability = availability.get(courierId);
+        if (courierAvailability != null) return courierAvailability;
+        CourierAvailabilityDTO loadedAvailability = loadAvailability(courierId);
+        if (loadedAvailability == null) return null;
+        CourierAvailabilityDTO concurrentlyLoaded = availability.putIfAbsent(courierId, loadedAvailability);
+        return concurrentlyLoaded != null ? concurrentlyLoaded : loadedAvailability;
+    }
+
+    private CourierAvailabilityDTO loadAvailability(long courierId) {
+        Courier courier = courierRepository.findById(courierId).orElse(null);
+        if (courier == null) return null;
+        Order currentOrder = orderRepository.findFirstByCourierIdAndStatusIn(courierId, openOrderStatuses);
+        return new CourierAvailabilityDTO(courier.getStatus(), currentOrder == null ? null : currentOrder.getId());
+    }
+}
@@ -0,0 +1,139 @@
+package edu.senla.service.impl;
+
+import edu.senla.dao.CourierLocationHistoryRepository;
+import edu.senla.exeption.BadRequest;
+import edu.senla.exeption.ServiceUnavailable;
+import edu.senla.model.dto.CourierLocationDTO;
+import edu.senla.model.dto.CourierLocationPingDTO;
+import edu.senla.service.CourierAvailabilityService;
+import edu.senla.service.CourierLocationIngestionService;
+import edu.senla.service.CourierLocationService;
+import edu.senla.service.DeliveryZoneService;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@RequiredArgsConstructor
+@Service
+@Log4j2
+public class CourierLocationIngestionServiceImpl extends AbstractService implements CourierLocationIngestionService {
+
+    private final CourierLocationService courierLocationService;
+    private final CourierAvailabilityService courierAvailabilityService;
+    private final DeliveryZoneService deliveryZoneService;
+    private final CourierLocationHistoryRepository courierLocationHistoryRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final AtomicLong rejectedLocations = new AtomicLong();
+    private BlockingQueue<CourierLocationPingDTO> locations;
+    private TransactionTemplate transactionTemplate;
+    private Thread locationWriter;
+    private volatile boolean isRunning;
+
+    @Value("${workflow.locations.bufferCapacity:50000}")
+    private int bufferCapacity;
+
+    @Value("${workflow.locations.batchSize:1000}")
+    private int batchSize;
+
+    @Value("${workflow.locations.flushInterval:1000}")
+    private long flushInterval;
+
+    @PostConstruct
+    public void startLocationWriter() {
+        locations = new ArrayBlockingQueue<>(bufferCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        isRunning = true;
+        locationWriter = new Thread(this::writeLocations, "courier-location-writer");
+        locationWriter.setDaemon(true);
+        locationWriter.start();
+    }
+
+    @PreDestroy
+    public void stopLocationWriter() throws InterruptedException {
+        isRunning = false;
+        locationWriter.interrupt();
+        locationWriter.join(flushInterval * 5);
+    }
+
+    @SneakyThrows
+    public void acceptLocation(long courierId, String courierLocationJson) {
+        CourierLocationDTO courierLocationDTO = objectMapper.readValue(courierLocationJson, CourierLocationDTO.class);
+        checkCourierLocation(courierLocationDTO);
+        if (!courierAvailabilityService.isCourierActive(courierId)) {
+            log.info("The location of courier with id {} rejected because this courier is inactive now", courierId);
+            throw new BadRequest("You are not active right now. Please update your working status to share your location.");
+        }
+        double latitude = courierLocationDTO.getLatitude();
+        double longitude = courierLocationDTO.getLongitude();
+        if (!locations.offer(new CourierLocationPingDTO(courierId, latitude, longitude, LocalDateTime.now()))) {
+            long rejected = rejectedLocations.incrementAndGet();
+            if (rejected % 1000 == 1) log.warn("Courier location buffer is full, {} locations rejected so far", rejected);
+            throw new ServiceUnavailable("Too many location updates right now, please retry later");
+        }
+        courierLocationService.updateCourierLocation(courierId, latitude, longitude);
+    }
+
+    public int getNumberOfBufferedLocations() {
+        return locations.size();
+    }
+
+    private void checkCourierLocation(CourierLocationDTO courierLocationDTO) {
+        if (!validationService.isCoordinatesCorrect(courierLocationDTO.getLatitude(), courierLocationDTO.getLongitude())) {
+            log.info("The attempt to update a courier location failed, coordinates {}, {} are invalid", courierLocationDTO.getLatitude(), courierLocationDTO.getLongitude());
+            throw new BadRequest("Coordinates " + courierLocationDTO.getLatitude() + ", " + courierLocationDTO.getLongitude() + " are invalid");
+        }
+    }
+
+    private void writeLocations() {
+        List<CourierLocationPingDTO> batch = new ArrayList<>(batchSize);
+        while (isRunning) {
+            try {
+                CourierLocationPingDTO location = locations.poll(flushInterval, TimeUnit.MILLISECONDS);
+                if (location == null) continue;
+                batch.add(location);
+                locations.drainTo(batch, batchSize - 1);
+                flushLocations(batch);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        while (locations.drainTo(batch, batchSize) > 0) {
+            flushLocations(batch);
+        }
+    }
+
+    private void flushLocations(List<CourierLocationPingDTO> batch) {
+        Map<Long, CourierLocationPingDTO> latestLocationsByCourier = new LinkedHashMap<>();
+        batch.forEach(l -> latestLocationsByCourier.put(l.getCourierId(), l));
+        List<CourierLocationPingDTO> latestLocations = new ArrayList<>(latestLocationsByCourier.values());
+        List<Integer> zones = latestLocations.stream().map(l -> deliveryZoneService.getLocationZone(l.getLatitude(), l.getLongitude())).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                courierLocationHistoryRepository.saveLocations(batch);
+                courierLocationHistoryRepository.updateLatestCourierLocations(latestLocations, zones);
+            });
+            log.debug("{} courier locations written, {} still buffered", batch.size(), locations.size());
+        } catch (RuntimeException exception) {
+            log.error("Failed to write {} courier locations", batch.size(), exception);
+        } finally {
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package edu.senla.service.impl;
+
+import edu.senla.dao.CourierRepository;
+import edu.senla.model.dto.CourierLocationDTO;
+import edu.senla.service.CourierLocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+@RequiredArgsConstructor
+@Service
+@Log4j2
+public class CourierLocationServiceImpl implements CourierLocationService {
+
+    private static final double earthRadius = 6371;
+
+    private final CourierRepository courierRepository;
+    private final Map<Long, CourierLocationDTO> locations = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> grid = new ConcurrentHashMap<>();
+
+    @Value("${dispatch.nearest.cellSize:0.01}")
+    private double cellSize;
+
+    @Value("${dispatch.nearest.maxSearchRadius:64}")
+    private int maxSearchRadius;
+
+    @PostConstruct
+    public void seedLocations() {
+        courierRepository.getAllByLatitudeNotNullAndLongitudeNotNull()
+                .forEach(c -> updateCourierLocation(c.getId(), c.getLatitude(), c.getLongitude()));
+        log.info("Courier location index seeded with {} couriers", locations.size());
+    }
+
+    public void updateCourierLocation(long courierId, double latitude, double longitude) {
+        long newCell = cellOf(latitude, longitude);
+        locations.compute(courierId, (id, oldLocation) -> {
+            if (oldLocation != null) {
+                long oldCell = cellOf(oldLocation.getLatitude(), oldLocation.getLongitude());
+                if (oldCell == newCell) return new CourierLocationDTO(latitude, longitude);
+                removeFromCell(oldCell, id);
+            }
+            grid.compute(newCell, (cell, couriers) -> {
+                Set<Long> cellCouriers = couriers != null ? couriers : ConcurrentHashMap.newKeySet();
+                cellCouriers.add(id);
+                return cellCouriers;
+            });
+            return new CourierLocationDTO(latitude, longitude);
+        });
+    }
+
+    public void removeCourier(long courierId) {
+        locations.computeIfPresent(courierId, (id, location) -> {
+            removeFromCell(cellOf(location.getLatitude(), location.getLongitude()), id);
+            return null;
+        });
+    }
+
+    public CourierLocationDTO getCourierLocation(long courierId) {
+        return locations.get(courierId);
+    }
+
+    public Long findNearestCourier(double latitude, double longitude, LongPredicate isCourierSuitable) {
+        int row = cellIndex(latitude);
+        int column = cellIndex(longitude);
+        Long nearestCourierId = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (int radius = 0; radius <= maxSearchRadius; radius++) {
+            if (nearestDistance <= calculateRingLowerBound(latitude, radius)) break;
+            for (int rowOffset = -radius; rowOffset <= radius; rowOffset++) {
+                boolean isEdgeRow = Math.abs(rowOffset) == radius;
+                for (int columnOffset = -radius; columnOffset <= radius; columnOffset += isEdgeRow ? 1 : 2 * radius) {
+                    Set<Long> cellCouriers = grid.get(cellKey(row + rowOffset, column + columnOffset));
+                    if (cellCouriers == null) continue;
+                    for (long courierId : cellCouriers) {
+                        CourierLocationDTO location = locations.get(courierId);
+                        if (location == null || !isCourierSuitable.test(courierId)) continue;
+                        double distance = calculateDistance(latitude, longitude, location.getLatitude(), location.getLongitude());
+                        if (distance < nearestDistance) {
+                            nearestDistance = distance;
+                            nearestCourierId = courierId;
+                        }
+                    }
+                }
+            }
+        }
+        if (nearestDistance > calculateRingLowerBound(latitude, maxSearchRadius + 1))
+            return findNearestCourierByFullScan(latitude, longitude, isCourierSuitable);
+        return nearestCourierId;
+    }
+
+    public double calculateDistance(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double meanLatitude = Math.toRadians((fromLatitude + toLatitude) / 2);
+        double x = Math.toRadians(toLongitude - fromLongitude) * Math.cos(meanLatitude);
+        double y = Math.toRadians(toLatitude - fromLatitude);
+        return Math.sqrt(x * x + y * y) * earthRadius;
+    }
+
+    private Long findNearestCourierByFullScan(double latitude, double longitude, LongPredicate isCourierSuitable) {
+        Long nearestCourierId = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (Map.Entry<Long, CourierLocationDTO> entry : locations.entrySet()) {
+            if (!isCourierSuitable.test(entry.getKey())) continue;
+            CourierLocationDTO location = entry.getValue();
+            double distance = calculateDistance(latitude, longitude, location.getLatitude(), location.getLongitude());
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearestCourierId = entry.getKey();
+            }
+        }
+        if (nearestCourierId != null) log.debug("No suitable courier within {} cells, the nearest one was found by a full scan", maxSearchRadius);
+        return nearestCourierId;
+    }
+
+    private double calculateRingLowerBound(double latitude, int radius) {
+        if (radius < 2) return 0;
+        double farthestLatitude = Math.min(90, Math.abs(latitude) + (radius + 1) * cellSize);
+        return Math.toRadians((radius - 1) * cellSize) * earthRadius * Math.cos(Math.toRadians(farthestLatitude));
+    }
+
+    private void removeFromCell(long cell, long courierId) {
+        grid.computeIfPresent(cell, (key, couriers) -> {
+            couriers.remove(courierId);
+            return couriers.isEmpty() ? null : couriers;
+        });
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return cellKey(cellIndex(latitude), cellIndex(longitude));
+    }
+
+    private int cellIndex(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+}
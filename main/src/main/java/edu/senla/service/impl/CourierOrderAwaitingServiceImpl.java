@@ -0,0 +1,125 @@
+package edu.senla.service.impl;
+
+import edu.senla.dao.OrderRepository;
+import edu.senla.exeption.NotFound;
+import edu.senla.model.dto.CourierCurrentOrderInfoDTO;
+import edu.senla.model.enums.OrderStatus;
+import edu.senla.model.event.OrderAssignedEvent;
+import edu.senla.model.event.OrderCreatedEvent;
+import edu.senla.service.CourierOrderAwaitingService;
+import edu.senla.service.CourierService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@RequiredArgsConstructor
+@Service
+@Log4j2
+public class CourierOrderAwaitingServiceImpl implements CourierOrderAwaitingService {
+
+    private final CourierService courierService;
+    private final OrderRepository orderRepository;
+    private final Map<Long, DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>>> awaitingCouriers = new ConcurrentHashMap<>();
+    private final Queue<Long> awaitingQueue = new ConcurrentLinkedQueue<>();
+    private ExecutorService awaitingExecutor;
+
+    @Value("${workflow.orderAwaiting.timeout:30000}")
+    private long awaitingTimeout;
+
+    @Value("${workflow.orderAwaiting.threads:4}")
+    private int numberOfThreads;
+
+    @PostConstruct
+    public void startAwaitingExecutor() {
+        awaitingExecutor = Executors.newFixedThreadPool(numberOfThreads);
+    }
+
+    @PreDestroy
+    public void stopAwaitingExecutor() {
+        awaitingExecutor.shutdownNow();
+        awaitingCouriers.values().forEach(r -> r.setResult(ResponseEntity.noContent().build()));
+    }
+
+    public DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> awaitNewOrder(long courierId) {
+        DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> result = new DeferredResult<>(awaitingTimeout, ResponseEntity.noContent().build());
+        try {
+            courierService.assignNewOrdersToCourier(courierId);
+            result.setResult(ResponseEntity.ok(courierService.getCurrentOrderForCourier(courierId)));
+            return result;
+        } catch (NotFound exception) {
+            log.debug("No orders for courier with id {} right now, waiting for a new one", courierId);
+        }
+        awaitOrder(courierId, result);
+        if (orderRepository.countByStatus(OrderStatus.NEW) > 0) offerNewOrder();
+        return result;
+    }
+
+    public int getNumberOfAwaitingCouriers() {
+        return awaitingCouriers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void completeOnOrderAssigned(OrderAssignedEvent orderAssignedEvent) {
+        long courierId = orderAssignedEvent.getCourierId();
+        DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> result = awaitingCouriers.remove(courierId);
+        if (result != null) awaitingExecutor.execute(() -> completeWithCurrentOrder(courierId, result));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void offerOnOrderCreated(OrderCreatedEvent orderCreatedEvent) {
+        offerNewOrder();
+    }
+
+    private void awaitOrder(long courierId, DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> result) {
+        result.onCompletion(() -> {
+            awaitingCouriers.remove(courierId, result);
+            awaitingQueue.remove(courierId);
+        });
+        DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> previous = awaitingCouriers.put(courierId, result);
+        if (previous != null) previous.setResult(ResponseEntity.noContent().build());
+        awaitingQueue.add(courierId);
+    }
+
+    private void offerNewOrder() {
+        Long courierId;
+        while ((courierId = awaitingQueue.poll()) != null) {
+            if (awaitingCouriers.containsKey(courierId)) {
+                long id = courierId;
+                awaitingExecutor.execute(() -> claimOrderForAwaitingCourier(id));
+                return;
+            }
+        }
+    }
+
+    private void claimOrderForAwaitingCourier(long courierId) {
+        try {
+            courierService.assignNewOrdersToCourier(courierId);
+        } catch (NotFound exception) {
+            if (awaitingCouriers.containsKey(courierId)) awaitingQueue.add(courierId);
+        } catch (RuntimeException exception) {
+            DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> result = awaitingCouriers.remove(courierId);
+            if (result != null) result.setErrorResult(exception);
+        }
+    }
+
+    private void completeWithCurrentOrder(long courierId, DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> result) {
+        try {
+            result.setResult(ResponseEntity.ok(courierService.getCurrentOrderForCourier(courierId)));
+        } catch (RuntimeException exception) {
+            result.setErrorResult(exception);
+        }
+    }
+}
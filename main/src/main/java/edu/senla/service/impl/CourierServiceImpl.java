@@ -1,36 +1,55 @@
 package edu.senla.service.impl;
 
-import edu.senla.dao.UserRepository;
 import edu.senla.dao.ContainerRepository;
+import edu.senla.dao.CourierPerformanceRepository;
 import edu.senla.dao.CourierRepository;
 import edu.senla.dao.OrderRepository;
 import edu.senla.exeption.BadRequest;
 import edu.senla.exeption.ConflictBetweenData;
 import edu.senla.exeption.NotFound;
+import edu.senla.exeption.ServiceUnavailable;
 import edu.senla.model.dto.*;
 import edu.senla.model.entity.User;
 import edu.senla.model.entity.Container;
 import edu.senla.model.entity.Courier;
+import edu.senla.model.entity.CourierPerformance;
 import edu.senla.model.entity.Order;
 import edu.senla.model.enums.CRUDOperations;
+import edu.senla.model.enums.CourierRatingSortType;
 import edu.senla.model.enums.CourierStatus;
 import edu.senla.model.enums.OrderStatus;
+import edu.senla.model.event.OrderAssignedEvent;
+import edu.senla.security.PrincipalCache;
+import edu.senla.security.TokenVersionRegistry;
+import edu.senla.security.UserDetailsImpl;
 import edu.senla.service.ContainerService;
+import edu.senla.service.CourierAvailabilityService;
+import edu.senla.service.CourierLocationService;
 import edu.senla.service.CourierService;
+import edu.senla.service.PasswordHashingService;
+import edu.senla.service.TripPlanningService;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Transactional
@@ -40,13 +59,29 @@ import java.util.stream.Collectors;
 public class CourierServiceImpl extends AbstractService implements CourierService {
 
     private final ContainerService containerService;
+    private final CourierAvailabilityService courierAvailabilityService;
+    private final CourierLocationService courierLocationService;
+    private final TripPlanningService tripPlanningService;
     private final ContainerRepository containerRepository;
     private final OrderRepository orderRepository;
-    private final UserRepository userRepository;
     private final CourierRepository courierRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final CourierPerformanceRepository courierPerformanceRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private static final double normOfOrdersPerDay = 4;
     private static final double normalPercentageOfOrdersDeliveredOnTime = 75;
+    private static final int orderClaimWindowSize = 16;
+    private static final int maxOrderClaimAttempts = 3;
+    private static final int maxCouriersRatingLimit = 100;
+    private static final List<OrderStatus> openOrderStatuses = List.of(OrderStatus.IN_PROCESS, OrderStatus.RECEIPT_CONFIRMED);
+
+    @Value("${dispatch.batching.enabled:false}")
+    private boolean isBatchingEnabled;
+
+    @Value("${dispatch.batching.maxOrdersPerTrip:3}")
+    private int maxOrdersPerTrip;
 
     public List<CourierMainInfoDTO> getAllCouriers(int pages) {
         log.info("Getting all couriers");
@@ -54,13 +89,6 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
         return couriers.stream().map(c -> modelMapper.map(c, CourierMainInfoDTO.class)).toList();
     }
 
-    public List<CourierBasicInfoDTO> getAllActiveCouriersDTO() {
-        List<CourierBasicInfoDTO> courierBasicInfoDTOS = getAllActiveCouriers().stream().map(c -> modelMapper.map(c, CourierBasicInfoDTO.class)).toList();
-        if (courierBasicInfoDTOS.isEmpty())
-            throw new NotFound("Currently there are no active couriers to assign orders");
-        return courierBasicInfoDTOS;
-    }
-
     @SneakyThrows
     public void createCourier(String courierRegistrationRequestJson) {
         CourierRegistrationRequestDTO newCourierDTO = objectMapper.readValue(courierRegistrationRequestJson, CourierRegistrationRequestDTO.class);
@@ -70,7 +98,7 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
         isCourierExistsByPhone(newCourierDTO.getPhone(), CRUDOperations.CREATE);
         checkCourierPhone(newCourierDTO.getPhone(), CRUDOperations.CREATE);
         checkCourierPasswordConfirmation(newCourierDTO);
-        newCourierDTO.setPassword(passwordEncoder.encode(newCourierDTO.getPassword()));
+        newCourierDTO.setPassword(passwordHashingService.encode(newCourierDTO.getPassword()));
         Courier courier = modelMapper.map(newCourierDTO, Courier.class);
         courier.setStatus(CourierStatus.INACTIVE);
         Courier savedCourier = courierRepository.save(courier);
@@ -101,15 +129,29 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
         return currentOrderInfoDTO;
     }
 
-    @SneakyThrows
+    // no transaction: the hash is read and rewritten by single statements, so no connection is held while hashing is queued
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public CourierFullInfoDTO getCourierByPhoneAndPassword(String authRequestCourierJson) {
+        return modelMapper.map(getCourierIfCredentialsMatch(authRequestCourierJson), CourierFullInfoDTO.class);
+    }
+
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public UserDetailsImpl getCourierPrincipalByPhoneAndPassword(String authRequestCourierJson) {
+        return UserDetailsImpl.fromCourierEntityToCourierUserDetails(getCourierIfCredentialsMatch(authRequestCourierJson));
+    }
+
+    @SneakyThrows
+    private Courier getCourierIfCredentialsMatch(String authRequestCourierJson) {
         CourierAuthRequestDTO courierAuthRequestDTO = objectMapper.readValue(authRequestCourierJson, CourierAuthRequestDTO.class);
         String phone = courierAuthRequestDTO.getPhone();
         String password = courierAuthRequestDTO.getPassword();
         try {
-            Courier courier = courierRepository.getByPhone(phone);
-            if (!passwordEncoder.matches(password, courier.getPassword())) throw new BadRequest();
-            return modelMapper.map(courier, CourierFullInfoDTO.class);
+            String storedPassword = courierRepository.getPasswordByPhone(phone);
+            if (storedPassword == null || !passwordHashingService.matches(password, storedPassword)) throw new BadRequest();
+            rehashPasswordIfOutdated(phone, storedPassword, password);
+            return Objects.requireNonNull(courierRepository.getByPhone(phone));
+        } catch (ServiceUnavailable exception) {
+            throw exception;
         } catch (RuntimeException exception) {
             log.error("No courier found with phone {} and password {}", phone, password);
             throw new NotFound("Invalid phone or password");
@@ -126,21 +168,37 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
         checkCourierPhone(courierDTO.getPhone(), CRUDOperations.UPDATE);
         isCourierExistsByPhone(courierDTO.getPhone(), CRUDOperations.UPDATE);
         Courier updatedCourier = modelMapper.map(courierDTO, Courier.class);
+        String previousPhone = courierToUpdate.getPhone();
         Courier courierWithNewParameters = updateCouriersOptions(courierToUpdate, updatedCourier);
+        boolean isPhoneChanged = !Objects.equals(previousPhone, courierWithNewParameters.getPhone());
+        if (isPhoneChanged) courierWithNewParameters.setTokenVersion(courierWithNewParameters.getTokenVersion() + 1);
+        int tokenVersion = courierWithNewParameters.getTokenVersion();
         courierRepository.save(courierWithNewParameters);
+        runAfterCommit(() -> {
+            principalCache.invalidate(previousPhone);
+            if (isPhoneChanged) tokenVersionRegistry.revokeCourierTokens(id, tokenVersion);
+        });
         log.info("Courier with id {} successfully updated", id);
     }
 
     public void deleteCourier(long id) {
         log.info("Deleting courier with id: {}", id);
         checkCourierExistent(id, CRUDOperations.DELETE);
+        String phone = courierRepository.getById(id).getPhone();
         courierRepository.deleteById(id);
+        runAfterCommit(() -> {
+            principalCache.invalidate(phone);
+            tokenVersionRegistry.revokeAllCourierTokens(id);
+            courierAvailabilityService.removeCourier(id);
+            courierLocationService.removeCourier(id);
+        });
         log.info("Courier with id {} successfully deleted", id);
     }
 
     public long getCurrentCourierId() {
-        String courierPhone = getCurrentCourierPhone();
-        return courierRepository.getByPhone(courierPhone).getId();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof UserDetailsImpl principal) return principal.getId();
+        return courierRepository.getByPhone(getCurrentCourierPhone()).getId();
     }
 
     private Courier getCourierIfExists(long id, CRUDOperations operation) {
@@ -171,24 +229,26 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
         courier.setStatus(newStatus);
         log.info("{} {} changed his/her status to {}", courier.getFirstName(), courier.getLastName(), newStatus.toString().toLowerCase(Locale.ROOT));
         courierRepository.save(courier);
+        runAfterCommit(() -> courierAvailabilityService.updateCourierStatus(id, newStatus));
     }
 
-    public void assignOrdersToAllActiveCouriers(List<CourierBasicInfoDTO> courierBasicInfoDTOS) {
-        List<Order> orders = getAllNewOrders();
-        List<Courier> couriers = getAllUnoccupiedCouriers();
-        int numberOfAssignedOrders;
-        if (orders.size() > couriers.size()) {
-            for (int i = 0; i < couriers.size(); i++) {
-                setOrderToCourier(couriers.get(i), orders.get(i));
-            }
-            numberOfAssignedOrders = couriers.size();
-        } else {
-            for (int i = 0; i < orders.size(); i++) {
-                setOrderToCourier(couriers.get(i), orders.get(i));
-            }
-            numberOfAssignedOrders = orders.size();
-        }
-        log.info("{} orders assigned to couriers, {} pending", numberOfAssignedOrders, courierBasicInfoDTOS.size() - numberOfAssignedOrders);
+    public OrdersAssignmentResultDTO assignOrdersToAllActiveCouriers() {
+        List<Long> activeCourierIds = courierRepository.getIdsByStatus(CourierStatus.ACTIVE);
+        if (activeCourierIds.isEmpty())
+            throw new NotFound("Currently there are no active couriers to assign orders");
+        List<Long> freeCourierIds = activeCourierIds.stream().filter(id -> !courierAvailabilityService.isCourierOccupied(id)).toList();
+        OrdersAssignmentResultDTO result = assignOrdersToFreeCouriers(freeCourierIds, null);
+        log.info("{} orders assigned to couriers, {} pending", result.getNumberOfAssignedOrders(), result.getNumberOfPendingOrders());
+        return result;
+    }
+
+    public OrdersAssignmentResultDTO assignOrdersToActiveCouriersInZone(int zone) {
+        List<Long> freeCourierIds = courierRepository.getIdsByStatusAndZone(CourierStatus.ACTIVE, zone).stream()
+                .filter(id -> !courierAvailabilityService.isCourierOccupied(id))
+                .toList();
+        OrdersAssignmentResultDTO result = assignOrdersToFreeCouriers(freeCourierIds, zone);
+        log.debug("{} orders assigned to couriers in zone {}, {} pending", result.getNumberOfAssignedOrders(), zone, result.getNumberOfPendingOrders());
+        return result;
     }
 
     public void assignNewOrdersToCourier(long id) {
@@ -197,18 +257,19 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
             log.info("The courier's {} {} attempt to receive a new order failed because this courier is inactive now", courier.getFirstName(), courier.getLastName());
             throw new BadRequest("You are not active right now. Please update your working status to receive new orders.");
         }
-        List<Order> newOrders = getAllNewOrders();
         if (isCourierOccupied(courier)) {
             log.info("The courier's {} {} attempt to receive a new order failed because courier already has an order", courier.getFirstName(), courier.getLastName());
             throw new ConflictBetweenData("You already has an order");
         }
-        if (newOrders.isEmpty() || isCourierOccupied(courier)) {
-            log.info("The courier's {} {} attempt to receive a new order failed because there are no available orders right now", courier.getFirstName(), courier.getLastName());
+        Long claimedOrderId = claimNewOrder(courier);
+        if (claimedOrderId == null) {
+            log.info("The attempt of courier with id {} to receive a new order failed because there are no available orders right now", id);
             throw new NotFound("There are no available orders right now");
         }
-        Order earliestOrder = newOrders.get(0);
-        setOrderToCourier(courier, earliestOrder);
-        log.info("Order with {} assigned to courier {} {}", earliestOrder.getId(), courier.getFirstName(), courier.getLastName());
+        List<Order> tripOrders = isBatchingEnabled ? claimTripOrders(courier, claimedOrderId) : List.of(orderRepository.getById(claimedOrderId));
+        runAfterCommit(() -> courierAvailabilityService.assignOrderToCourier(id, claimedOrderId));
+        tripOrders.forEach(order -> applicationEventPublisher.publishEvent(formOrderAssignedEvent(id, order)));
+        log.info("Orders with ids {} assigned to courier with id {}", tripOrders.stream().map(Order::getId).toList(), id);
     }
 
     public List<CourierOrderInfoDTO> getAllOrdersOfCourier(long courierId) {
@@ -221,19 +282,23 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
     }
 
     private boolean isCourierActiveNow(long id) {
-        return courierRepository.getById(id).getStatus().equals(CourierStatus.ACTIVE);
+        return courierAvailabilityService.isCourierActive(id);
     }
 
     private CourierPerformanceIndicatorDTO calculateCourierPerformanceIndicator(Courier courier) {
-        List<CourierOrderInfoDTO> courierOrders = getAllOrdersOfCourier(courier.getId());
-        if (courierOrders.isEmpty()) return null;
-        int totalNumberOfOrdersDelivered = courierOrders.size();
-        int numberOfOrdersDeliveredOnTime = (int) courierOrders.stream().filter(CourierOrderInfoDTO::isOrderDeliveredOnTime).count();
-        int numberOfOrdersDeliveredLate = totalNumberOfOrdersDelivered - numberOfOrdersDeliveredOnTime;
-        double percentageOfOrdersDeliveredOnTime = ((double) numberOfOrdersDeliveredOnTime / totalNumberOfOrdersDelivered) * 100;
-        double numberOfOrdersDeliveredPerDay = calculateNumberOfOrdersDeliveredPerDay(courierOrders);
-        return formCourierPerformanceIndicatorDTO(totalNumberOfOrdersDelivered, numberOfOrdersDeliveredOnTime,
-                numberOfOrdersDeliveredLate, percentageOfOrdersDeliveredOnTime, numberOfOrdersDeliveredPerDay);
+        CourierPerformance performance = courierPerformanceRepository.findById(courier.getId()).orElse(null);
+        if (performance == null || performance.getNumberOfOrdersDelivered() == 0) return null;
+        return calculateCourierPerformanceIndicator(performance);
+    }
+
+    private CourierPerformanceIndicatorDTO calculateCourierPerformanceIndicator(CourierPerformance performance) {
+        int totalNumberOfOrdersDelivered = performance.getNumberOfOrdersDelivered();
+        double percentageOfOrdersDeliveredOnTime = totalNumberOfOrdersDelivered == 0 ? 0
+                : ((double) performance.getNumberOfOrdersDeliveredOnTime() / totalNumberOfOrdersDelivered) * 100;
+        double numberOfOrdersDeliveredPerDay = performance.getNumberOfWorkingDays() == 0 ? 0
+                : (double) totalNumberOfOrdersDelivered / performance.getNumberOfWorkingDays();
+        return formCourierPerformanceIndicatorDTO(totalNumberOfOrdersDelivered, performance.getNumberOfOrdersDeliveredOnTime(),
+                performance.getNumberOfOrdersDeliveredLate(), percentageOfOrdersDeliveredOnTime, numberOfOrdersDeliveredPerDay);
     }
 
     public CourierPerformanceIndicatorDTO getCourierPerformanceIndicator(long id) {
@@ -247,19 +312,50 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
         return courierPerformanceIndicatorDTO;
     }
 
+    public List<CourierRatingDTO> getCouriersRating(String sortBy, Double afterSortValue, Long afterCourierId, int limit) {
+        CourierRatingSortType sortType = translateCourierRatingSortType(sortBy);
+        if (limit < 1 || limit > maxCouriersRatingLimit) {
+            log.info("The attempt to get couriers rating failed, limit {} is out of range", limit);
+            throw new BadRequest("Limit should be between 1 and " + maxCouriersRatingLimit);
+        }
+        if ((afterSortValue == null) != (afterCourierId == null)) {
+            log.info("The attempt to get couriers rating failed, cursor should contain both sort value and courier id");
+            throw new BadRequest("Cursor should contain both sort value and courier id");
+        }
+        double sortValue = afterSortValue != null ? afterSortValue : Double.MAX_VALUE;
+        long courierId = afterCourierId != null ? afterCourierId : 0;
+        Pageable page = PageRequest.of(0, limit);
+        List<Object[]> rating = switch (sortType) {
+            case DELIVERED -> courierPerformanceRepository.getCouriersWithPerformanceAfterByDelivered(sortValue, courierId, page);
+            case ON_TIME -> courierPerformanceRepository.getCouriersWithPerformanceAfterByOnTime(sortValue, courierId, page);
+            case PER_DAY -> courierPerformanceRepository.getCouriersWithPerformanceAfterByPerDay(sortValue, courierId, page);
+        };
+        log.info("Couriers rating sorted by {} requested after {} of courier {}", sortType.toString().toLowerCase(Locale.ROOT), afterSortValue, afterCourierId);
+        return rating.stream().map(r -> formCourierRatingDTO((Courier) r[0], (CourierPerformance) r[1])).toList();
+    }
+
     private CourierCurrentOrderInfoDTO getCourierOrder(long id) {
         Courier courier = courierRepository.getById(id);
-        Order order = orderRepository.getByCourierAndStatus(courier, OrderStatus.IN_PROCESS);
-        if (order == null) {
+        List<CourierTripStopDTO> stops = orderRepository.getAllByCourierAndStatusInOrderByTripSequenceAsc(courier, openOrderStatuses).stream()
+                .map(this::formCourierTripStopDTO)
+                .toList();
+        CourierTripStopDTO currentStop = stops.stream()
+                .filter(s -> s.getStatus().equals(OrderStatus.IN_PROCESS.toString().toLowerCase(Locale.ROOT)))
+                .findFirst().orElse(null);
+        if (currentStop == null) {
             log.warn("An attempt to get information about the current order for the courier failed, because, courier {} {} has no current order", courier.getFirstName(), courier.getLastName());
             throw new NotFound("Courier has no current order");
         }
-        User user = userRepository.getById(order.getUser().getId());
-        List<Container> containers = containerRepository.findAllByOrderId(order.getId());
-        double orderCost = containerService.calculateTotalOrderCost(containers);
-        List<ContainerComponentsNamesDTO> containersCourierInfoDTOs = containers.stream()
-                .map(containerService::mapFromContainerEntityToContainerComponentsNamesDTO).toList();
-        return formCourierOrderInfoResponseDTO(containersCourierInfoDTOs, user, order, orderCost);
+        return formCourierOrderInfoResponseDTO(currentStop, stops);
+    }
+
+    private void rehashPasswordIfOutdated(String phone, String storedPassword, String password) {
+        if (!passwordHashingService.isUpgradeNeeded(storedPassword)) return;
+        try {
+            courierRepository.updatePasswordByPhoneIfUnchanged(phone, storedPassword, passwordHashingService.encode(password));
+        } catch (ServiceUnavailable exception) {
+            log.warn("Password hash of courier with phone {} was left outdated because hashing is busy", phone);
+        }
     }
 
     private void checkCourierName(String name, CRUDOperations operation) {
@@ -288,27 +384,145 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
         }
     }
 
-    private List<Order> getAllNewOrders() {
-        return orderRepository.getByStatusOrderByTimeAsc(OrderStatus.NEW);
+    private Long claimNewOrder(Courier courier) {
+        CourierLocationDTO courierLocation = courierLocationService.getCourierLocation(courier.getId());
+        for (int attempt = 0; attempt < maxOrderClaimAttempts; attempt++) {
+            List<Long> candidateOrderIds = courierLocation == null
+                    ? orderCandidatesForCourier(orderRepository.getIdsByStatusOrderByDateAndTime(OrderStatus.NEW, PageRequest.of(0, orderClaimWindowSize)), courier.getId())
+                    : nearestOrderCandidates(orderRepository.getByStatusOrderByDateAndTime(OrderStatus.NEW, PageRequest.of(0, orderClaimWindowSize)), courierLocation);
+            if (candidateOrderIds.isEmpty()) return null;
+            for (long orderId : candidateOrderIds) {
+                if (orderRepository.updateCourierAndStatusIfStatusIs(courier, orderId, OrderStatus.NEW, OrderStatus.IN_PROCESS) == 1)
+                    return orderId;
+            }
+            log.debug("All {} candidate orders were claimed by other couriers, retrying", candidateOrderIds.size());
+        }
+        log.info("Courier with id {} lost the race for new orders {} times in a row", courier.getId(), maxOrderClaimAttempts);
+        return null;
+    }
+
+    private List<Long> nearestOrderCandidates(List<Order> candidateOrders, CourierLocationDTO courierLocation) {
+        return candidateOrders.stream()
+                .sorted(Comparator.comparingDouble(o -> calculateDistanceToOrder(courierLocation, o)))
+                .map(Order::getId)
+                .toList();
     }
 
-    private List<Courier> getAllActiveCouriers() {
-        return courierRepository.getByStatus(CourierStatus.ACTIVE, PageRequest.of(0, 10, Sort.by("lastName").descending()));
+    private double calculateDistanceToOrder(CourierLocationDTO courierLocation, Order order) {
+        if (order.getLatitude() == null || order.getLongitude() == null) return Double.MAX_VALUE;
+        return courierLocationService.calculateDistance(courierLocation.getLatitude(), courierLocation.getLongitude(),
+                order.getLatitude(), order.getLongitude());
     }
 
-    private List<Courier> getAllUnoccupiedCouriers() {
-        return getAllActiveCouriers().stream().filter(c -> !isCourierOccupied(c)).toList();
+    private List<Long> orderCandidatesForCourier(List<Long> candidateOrderIds, long courierId) {
+        if (candidateOrderIds.size() < 3) return candidateOrderIds;
+        List<Long> orderedCandidates = new ArrayList<>(candidateOrderIds.size());
+        orderedCandidates.add(candidateOrderIds.get(0));
+        int rest = candidateOrderIds.size() - 1;
+        int offset = (int) (courierId % rest);
+        for (int i = 0; i < rest; i++) {
+            orderedCandidates.add(candidateOrderIds.get(1 + (offset + i) % rest));
+        }
+        return orderedCandidates;
     }
 
     private boolean isCourierOccupied(Courier courier) {
-        List<Courier> clientsWitOpenOrders = orderRepository.getAllCouriersByStatus(OrderStatus.IN_PROCESS);
-        List<Courier> clientsWithClosedOrders = orderRepository.getAllCouriersByStatus(OrderStatus.RECEIPT_CONFIRMED);
-        return clientsWitOpenOrders.contains(courier) || clientsWithClosedOrders.contains(courier);
+        return courierAvailabilityService.isCourierOccupied(courier.getId());
+    }
+
+    private List<Order> claimTripOrders(Courier courier, long firstOrderId) {
+        Order firstOrder = orderRepository.findById(firstOrderId).orElseThrow();
+        List<Order> candidateOrders = orderRepository.getWithUserByStatusOrderByDateAndTime(OrderStatus.NEW, PageRequest.of(0, orderClaimWindowSize));
+        List<Order> tripOrders = new ArrayList<>(List.of(firstOrder));
+        for (Order order : tripPlanningService.chooseTripOrders(firstOrder, candidateOrders, maxOrdersPerTrip)) {
+            if (order.getId() != firstOrderId && orderRepository.updateCourierAndStatusIfStatusIs(courier, order.getId(), OrderStatus.NEW, OrderStatus.IN_PROCESS) == 1)
+                tripOrders.add(order);
+        }
+        List<Order> stops = tripPlanningService.orderTripStops(firstOrder, tripOrders);
+        for (int i = 0; i < stops.size(); i++) {
+            orderRepository.updateTripSequence(stops.get(i).getId(), i + 1);
+        }
+        return stops;
+    }
+
+    private OrdersAssignmentResultDTO assignOrdersToFreeCouriers(List<Long> freeCourierIds, Integer zone) {
+        List<Order> orders = new ArrayList<>();
+        List<Long> courierIds = new ArrayList<>();
+        List<Integer> tripSequences = new ArrayList<>();
+        if (isBatchingEnabled && !freeCourierIds.isEmpty()) {
+            planTrips(freeCourierIds, zone, orders, courierIds, tripSequences);
+        } else if (!freeCourierIds.isEmpty()) {
+            planSingleOrders(freeCourierIds, zone, orders, courierIds, tripSequences);
+        }
+        List<Integer> assignedIndexes = assignCouriersToOrders(orders, courierIds, tripSequences);
+        long numberOfBusyCouriers = assignedIndexes.stream().map(courierIds::get).distinct().count();
+        long numberOfPendingOrders = zone == null ? orderRepository.countByStatus(OrderStatus.NEW) : orderRepository.countByStatusAndZone(OrderStatus.NEW, zone);
+        return new OrdersAssignmentResultDTO(assignedIndexes.size(), numberOfPendingOrders, freeCourierIds.size() - (int) numberOfBusyCouriers);
+    }
+
+    private void planSingleOrders(List<Long> freeCourierIds, Integer zone, List<Order> orders, List<Long> courierIds, List<Integer> tripSequences) {
+        Set<Long> availableCourierIds = new LinkedHashSet<>(freeCourierIds);
+        PageRequest page = PageRequest.of(0, freeCourierIds.size());
+        List<Order> newOrders = zone == null ? orderRepository.getByStatusOrderByDateAndTime(OrderStatus.NEW, page)
+                : orderRepository.getByStatusAndZoneOrderByDateAndTime(OrderStatus.NEW, zone, page);
+        for (Order order : newOrders) {
+            orders.add(order);
+            courierIds.add(takeCourierForOrder(order, availableCourierIds));
+            tripSequences.add(null);
+        }
     }
 
-    private void setOrderToCourier(Courier courier, Order order) {
-        order.setCourier(courier);
-        order.setStatus(OrderStatus.IN_PROCESS);
+    private void planTrips(List<Long> freeCourierIds, Integer zone, List<Order> orders, List<Long> courierIds, List<Integer> tripSequences) {
+        PageRequest page = PageRequest.of(0, freeCourierIds.size() * maxOrdersPerTrip);
+        List<Order> remainingOrders = new ArrayList<>(zone == null ? orderRepository.getWithUserByStatusOrderByDateAndTime(OrderStatus.NEW, page)
+                : orderRepository.getWithUserByStatusAndZoneOrderByDateAndTime(OrderStatus.NEW, zone, page));
+        int ordersPerTrip = Math.min(maxOrdersPerTrip, (remainingOrders.size() + freeCourierIds.size() - 1) / freeCourierIds.size());
+        Set<Long> availableCourierIds = new LinkedHashSet<>(freeCourierIds);
+        while (!remainingOrders.isEmpty() && !availableCourierIds.isEmpty()) {
+            Order firstOrder = remainingOrders.get(0);
+            long courierId = takeCourierForOrder(firstOrder, availableCourierIds);
+            List<Order> stops = tripPlanningService.orderTripStops(firstOrder,
+                    tripPlanningService.chooseTripOrders(firstOrder, remainingOrders, ordersPerTrip));
+            Set<Long> stopIds = stops.stream().map(Order::getId).collect(Collectors.toSet());
+            remainingOrders.removeIf(o -> stopIds.contains(o.getId()));
+            for (int i = 0; i < stops.size(); i++) {
+                orders.add(stops.get(i));
+                courierIds.add(courierId);
+                tripSequences.add(stops.size() == 1 ? null : i + 1);
+            }
+        }
+    }
+
+    private long takeCourierForOrder(Order order, Set<Long> availableCourierIds) {
+        Long courierId = null;
+        if (order.getLatitude() != null && order.getLongitude() != null)
+            courierId = courierLocationService.findNearestCourier(order.getLatitude(), order.getLongitude(), availableCourierIds::contains);
+        // the order or all the free couriers have no known location
+        if (courierId == null) courierId = availableCourierIds.iterator().next();
+        availableCourierIds.remove(courierId);
+        return courierId;
+    }
+
+    private List<Integer> assignCouriersToOrders(List<Order> orders, List<Long> courierIds, List<Integer> tripSequences) {
+        if (orders.isEmpty()) return List.of();
+        List<Long> orderIds = orders.stream().map(Order::getId).toList();
+        int[] updatedRows = orderRepository.assignCouriersToNewOrders(orderIds, courierIds, tripSequences);
+        List<Integer> assignedIndexes = new ArrayList<>(updatedRows.length);
+        for (int i = 0; i < updatedRows.length; i++) {
+            if (updatedRows[i] > 0) assignedIndexes.add(i);
+        }
+        runAfterCommit(() -> assignedIndexes.forEach(i -> courierAvailabilityService.assignOrderToCourier(courierIds.get(i), orderIds.get(i))));
+        assignedIndexes.forEach(i -> applicationEventPublisher.publishEvent(formOrderAssignedEvent(courierIds.get(i), orders.get(i))));
+        return assignedIndexes;
+    }
+
+    private CourierRatingSortType translateCourierRatingSortType(String sortBy) {
+        try {
+            return CourierRatingSortType.valueOf(sortBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            log.info("The attempt to get couriers rating failed, sort type {} invalid", sortBy);
+            throw new BadRequest("Sort type " + sortBy + " invalid");
+        }
     }
 
     private Courier updateCouriersOptions(Courier courier, Courier updatedCourier) {
@@ -323,21 +537,39 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
         return authentication.getName();
     }
 
-    private CourierCurrentOrderInfoDTO formCourierOrderInfoResponseDTO(List<ContainerComponentsNamesDTO> containersCourierInfoDTOs,
-                                                                       User user, Order order, double orderCost) {
+    private CourierCurrentOrderInfoDTO formCourierOrderInfoResponseDTO(CourierTripStopDTO currentStop, List<CourierTripStopDTO> stops) {
         CourierCurrentOrderInfoDTO courierCurrentOrderInfoDTO = new CourierCurrentOrderInfoDTO();
-        courierCurrentOrderInfoDTO.setContainers(containersCourierInfoDTOs);
-        courierCurrentOrderInfoDTO.setClientFirstName(user.getFirstName());
-        courierCurrentOrderInfoDTO.setClientLastName(user.getLastName());
-        courierCurrentOrderInfoDTO.setAddress(user.getAddress());
-        courierCurrentOrderInfoDTO.setTime(order.getTime());
-        courierCurrentOrderInfoDTO.setPaymentType(order.getPaymentType().toString().toLowerCase(Locale.ROOT));
-        courierCurrentOrderInfoDTO.setOrderCost(orderCost);
+        courierCurrentOrderInfoDTO.setContainers(currentStop.getContainers());
+        courierCurrentOrderInfoDTO.setClientFirstName(currentStop.getClientFirstName());
+        courierCurrentOrderInfoDTO.setClientLastName(currentStop.getClientLastName());
+        courierCurrentOrderInfoDTO.setAddress(currentStop.getAddress());
+        courierCurrentOrderInfoDTO.setTime(currentStop.getTime());
+        courierCurrentOrderInfoDTO.setPaymentType(currentStop.getPaymentType());
+        courierCurrentOrderInfoDTO.setOrderCost(currentStop.getOrderCost());
+        courierCurrentOrderInfoDTO.setStops(stops);
         return courierCurrentOrderInfoDTO;
     }
 
-    private CourierOrderInfoDTO formCourierOrderInfoDTO(Order order) {
+    private CourierTripStopDTO formCourierTripStopDTO(Order order) {
+        User user = order.getUser();
         List<Container> containers = containerRepository.findAllByOrderId(order.getId());
+        List<ContainerComponentsNamesDTO> containersCourierInfoDTOs = containers.stream()
+                .map(containerService::mapFromContainerEntityToContainerComponentsNamesDTO).toList();
+        CourierTripStopDTO courierTripStopDTO = new CourierTripStopDTO();
+        courierTripStopDTO.setOrderId(order.getId());
+        courierTripStopDTO.setTripSequence(order.getTripSequence());
+        courierTripStopDTO.setStatus(order.getStatus().toString().toLowerCase(Locale.ROOT));
+        courierTripStopDTO.setClientFirstName(user.getFirstName());
+        courierTripStopDTO.setClientLastName(user.getLastName());
+        courierTripStopDTO.setAddress(user.getAddress());
+        courierTripStopDTO.setTime(order.getTime());
+        courierTripStopDTO.setPaymentType(order.getPaymentType().toString().toLowerCase(Locale.ROOT));
+        courierTripStopDTO.setOrderCost(order.getTotalCost());
+        courierTripStopDTO.setContainers(containersCourierInfoDTOs);
+        return courierTripStopDTO;
+    }
+
+    private CourierOrderInfoDTO formCourierOrderInfoDTO(Order order) {
         List<ContainerComponentsNamesDTO> containersCourierInfoDTOs = containerRepository.findAllByOrderId(order.getId()).stream()
                 .map(containerService::mapFromContainerEntityToContainerComponentsNamesDTO).toList();
         CourierOrderInfoDTO courierOrderInfoDTO = new CourierOrderInfoDTO();
@@ -346,11 +578,21 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
         courierOrderInfoDTO.setClientName(order.getUser().getFirstName() + " " + order.getUser().getLastName());
         courierOrderInfoDTO.setPaymentType(order.getPaymentType().toString().toLowerCase(Locale.ROOT));
         courierOrderInfoDTO.setOrderDeliveredOnTime(order.getStatus().equals(OrderStatus.COMPLETED_ON_TIME));
-        courierOrderInfoDTO.setOrderCost(containerService.calculateTotalOrderCost(containers));
+        courierOrderInfoDTO.setOrderCost(order.getTotalCost());
         courierOrderInfoDTO.setContainers(containersCourierInfoDTOs);
         return courierOrderInfoDTO;
     }
 
+    private OrderAssignedEvent formOrderAssignedEvent(long courierId, Order order) {
+        return new OrderAssignedEvent(courierId, order.getId(), LocalDateTime.of(order.getDate(), order.getTime()));
+    }
+
+    private CourierRatingDTO formCourierRatingDTO(Courier courier, CourierPerformance performance) {
+        CourierPerformance courierPerformance = performance != null ? performance : new CourierPerformance(courier.getId(), 0, 0, 0, 0, null);
+        return new CourierRatingDTO(courier.getId(), courier.getFirstName(), courier.getLastName(),
+                calculateCourierPerformanceIndicator(courierPerformance));
+    }
+
     private CourierPerformanceIndicatorDTO formCourierPerformanceIndicatorDTO(int totalNumberOfOrdersDelivered, int numberOfOrdersDeliveredOnTime,
                                                                               int numberOfOrdersDeliveredLate, double percentageOfOrdersDeliveredOnTime,
                                                                               double numberOfOrdersDeliveredPerDay) {
@@ -372,9 +614,4 @@ public class CourierServiceImpl extends AbstractService implements CourierServic
     private boolean isDailyAmountOfWorkSatisfactory(double numberOfOrdersDeliveredPerDay) {
         return numberOfOrdersDeliveredPerDay >= normOfOrdersPerDay;
     }
-
-    private double calculateNumberOfOrdersDeliveredPerDay(List<CourierOrderInfoDTO> courierOrders) {
-        int numberOfWorkingDays = courierOrders.stream().map(CourierOrderInfoDTO::getDate).collect(Collectors.toSet()).size();
-        return courierOrders.size() / numberOfWorkingDays;
-    }
 }
@@ -0,0 +1,93 @@
+package edu.senla.service.impl;
+
+import edu.senla.dao.CourierRepository;
+import edu.senla.dao.OrderRepository;
+import edu.senla.model.enums.OrderStatus;
+import edu.senla.service.DeliveryZoneService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+
+@RequiredArgsConstructor
+@Service
+@Log4j2
+public class DeliveryZoneServiceImpl implements DeliveryZoneService {
+
+    private static final int fallbackZone = 0;
+
+    private final OrderRepository orderRepository;
+    private final CourierRepository courierRepository;
+
+    @Value("${dispatch.zones.count:1}")
+    private int numberOfZones;
+
+    @Value("${dispatch.zones.cellSize:0.05}")
+    private double cellSize;
+
+    @Value("${dispatch.zones.area.minLatitude:53.80}")
+    private double minLatitude;
+
+    @Value("${dispatch.zones.area.maxLatitude:54.00}")
+    private double maxLatitude;
+
+    @Value("${dispatch.zones.area.minLongitude:27.40}")
+    private double minLongitude;
+
+    @Value("${dispatch.zones.area.maxLongitude:27.75}")
+    private double maxLongitude;
+
+    public int getNumberOfZones() {
+        return Math.max(numberOfZones, 1);
+    }
+
+    public int getOrderZone(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) return fallbackZone;
+        return getLocationZone(latitude, longitude);
+    }
+
+    // the service area is cut into a grid of rectangles made of whole cells, so neighbouring cells stay in the same zone
+    public int getLocationZone(double latitude, double longitude) {
+        int numberOfZones = getNumberOfZones();
+        int zoneRows = getNumberOfZoneRows(numberOfZones);
+        int zoneColumns = numberOfZones / zoneRows;
+        int rows = countCells(minLatitude, maxLatitude);
+        int columns = countCells(minLongitude, maxLongitude);
+        int row = cellOf(latitude, minLatitude, rows);
+        int column = cellOf(longitude, minLongitude, columns);
+        return (row * zoneRows / rows) * zoneColumns + column * zoneColumns / columns;
+    }
+
+    @Transactional
+    public int rezoneOrdersOutsideZones() {
+        int numberOfRezonedOrders = orderRepository.resetZoneIfZoneIsNotLessThan(OrderStatus.NEW, getNumberOfZones());
+        if (numberOfRezonedOrders > 0)
+            log.info("{} new orders belonged to zones beyond the configured {} and were moved to zone 0", numberOfRezonedOrders, getNumberOfZones());
+        return numberOfRezonedOrders;
+    }
+
+    @Transactional
+    public int rezoneCouriersOutsideZones() {
+        int numberOfRezonedCouriers = courierRepository.resetZoneIfZoneIsNotLessThan(getNumberOfZones());
+        if (numberOfRezonedCouriers > 0)
+            log.info("{} couriers belonged to zones beyond the configured {} and were moved to zone 0 until their next location update", numberOfRezonedCouriers, getNumberOfZones());
+        return numberOfRezonedCouriers;
+    }
+
+    private int getNumberOfZoneRows(int numberOfZones) {
+        int zoneRows = (int) Math.sqrt(numberOfZones);
+        while (numberOfZones % zoneRows != 0) zoneRows--;
+        return zoneRows;
+    }
+
+    private int countCells(double min, double max) {
+        return Math.max((int) Math.ceil((max - min) / cellSize - 1e-9), 1);
+    }
+
+    private int cellOf(double coordinate, double min, int numberOfCells) {
+        int cell = (int) Math.floor((coordinate - min) / cellSize);
+        return Math.min(Math.max(cell, 0), numberOfCells - 1);
+    }
+}
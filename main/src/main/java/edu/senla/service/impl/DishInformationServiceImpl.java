@@ -10,6 +10,7 @@ import edu.senla.model.entity.Dish;
 import edu.senla.model.entity.DishInformation;
 import edu.senla.model.enums.CRUDOperations;
 import edu.senla.service.DishInformationService;
+import edu.senla.service.MenuCatalogService;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.log4j.Log4j2;
@@ -30,6 +31,7 @@ public class DishInformationServiceImpl extends AbstractService implements DishI
     private final DishServiceImpl dishService;
     private final DishInformationRepository dishInformationRepository;
     private final DishRepository dishRepository;
+    private final MenuCatalogService menuCatalogService;
 
     public List<DishInformationDTO> getAllDishesInformation(int pages) {
         log.info("Getting all dishes information");
@@ -46,6 +48,7 @@ public class DishInformationServiceImpl extends AbstractService implements DishI
         Dish dish = dishRepository.getById(newDishInformationDTO.getDishId());
         dish.setDishInformation(dishInformationRepository.saveAndFlush(newDishInformation));
         dishRepository.save(dish);
+        refreshCatalogAfterCommit(newDishInformationDTO.getDishId());
         log.info("Dish information for dish with id {} successfully created", newDishInformationDTO.getDishId());
     }
 
@@ -65,16 +68,27 @@ public class DishInformationServiceImpl extends AbstractService implements DishI
         DishInformation updatedDishInformation = modelMapper.map(updatedDishInformationDTO, DishInformation.class);
         DishInformation dishInformationWithNewParameters = updateDishInformationOptions(dishInformationToUpdate, updatedDishInformation);
         dishInformationRepository.save(dishInformationWithNewParameters);
+        refreshCatalogAfterCommit(dishInformationRepository.getDishIdById(id));
         log.info("Dish information with id {} successfully updated", id);
     }
 
     public void deleteDishInformation(long id) {
         log.info("Deleting dish information with id: {}", id);
         checkDishInformationExistent(id);
+        Long dishId = dishInformationRepository.getDishIdById(id);
         dishInformationRepository.deleteById(id);
+        refreshCatalogAfterCommit(dishId);
         log.info("Dish information with id {} successfully deleted", id);
     }
 
+    private void refreshCatalogAfterCommit(Long dishId) {
+        if (dishId == null) {
+            runAfterCommit(menuCatalogService::rebuildSnapshot);
+            return;
+        }
+        runAfterCommit(() -> menuCatalogService.refreshDish(dishId));
+    }
+
     private DishInformation getDishInformationIfExists(long id, CRUDOperations operation) {
         if (!dishInformationRepository.existsById(id)) {
             log.info("The attempt to {} a dish information failed, there is no dish information with id {}", operation.toString().toLowerCase(), id);
@@ -4,12 +4,14 @@ import edu.senla.dao.DishRepository;
 import edu.senla.exeption.BadRequest;
 import edu.senla.exeption.ConflictBetweenData;
 import edu.senla.exeption.NotFound;
+import edu.senla.model.catalog.MenuCatalogSnapshot;
 import edu.senla.model.dto.ContainerComponentsDTO;
 import edu.senla.model.dto.DishDTO;
 import edu.senla.model.entity.Dish;
 import edu.senla.model.enums.CRUDOperations;
 import edu.senla.model.enums.DishType;
 import edu.senla.service.DishService;
+import edu.senla.service.MenuCatalogService;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.log4j.Log4j2;
@@ -29,6 +31,7 @@ import java.util.Locale;
 public class DishServiceImpl extends AbstractService implements DishService {
 
     private final DishRepository dishRepository;
+    private final MenuCatalogService menuCatalogService;
 
     public List<DishDTO> getAllDishes(int pages) {
         log.info("Getting all dishes");
@@ -43,6 +46,7 @@ public class DishServiceImpl extends AbstractService implements DishService {
         checkDishDTOName(newDishDTO, CRUDOperations.CREATE);
         Dish dish = setDishDTOTypeToDishEntity(newDishDTO);
         dishRepository.save(dish);
+        runAfterCommit(() -> menuCatalogService.refreshDish(dish.getId()));
         log.info("Dish with name {} and type {} successfully created", dish.getName(), dish.getType());
     }
 
@@ -63,6 +67,7 @@ public class DishServiceImpl extends AbstractService implements DishService {
         checkDishDTOName(updatedDishDTO, CRUDOperations.UPDATE);
         Dish dishWithUpdatedOptions = updateDishOptions(dishToUpdate, updatedDishDTO);
         dishRepository.save(dishWithUpdatedOptions);
+        runAfterCommit(() -> menuCatalogService.refreshDish(id));
         log.info("Dish with id {} successfully updated", id);
     }
 
@@ -70,6 +75,7 @@ public class DishServiceImpl extends AbstractService implements DishService {
         log.info("Deleting dish with id: {}", id);
         checkDishExistence(id);
         dishRepository.deleteById(id);
+        runAfterCommit(() -> menuCatalogService.refreshDish(id));
         log.info("Dish with id {} successfully deleted", id);
     }
 
@@ -82,11 +88,10 @@ public class DishServiceImpl extends AbstractService implements DishService {
     }
 
     public boolean isAllDishesHaveDishInformation(ContainerComponentsDTO containerComponentsDTO) {
-        long meat = containerComponentsDTO.getMeat();
-        long garnish = containerComponentsDTO.getGarnish();
-        long salad = containerComponentsDTO.getSalad();
-        long sauce = containerComponentsDTO.getSauce();
-        return isDishHasDishInformation(meat) && isDishHasDishInformation(garnish) && isDishHasDishInformation(salad) && isDishHasDishInformation(sauce);
+        List<Long> dishIds = List.of(containerComponentsDTO.getMeat(), containerComponentsDTO.getGarnish(),
+                containerComponentsDTO.getSalad(), containerComponentsDTO.getSauce());
+        MenuCatalogSnapshot catalog = menuCatalogService.getSnapshotCovering(dishIds, List.of());
+        return dishIds.stream().mapToInt(catalog::indexOfDish).allMatch(d -> d >= 0 && catalog.hasDishInformation(d));
     }
 
     private Dish setDishDTOTypeToDishEntity(DishDTO newDishDTO) {
@@ -0,0 +1,72 @@
+package edu.senla.service.impl;
+
+import edu.senla.dao.DishRepository;
+import edu.senla.dao.TypeOfContainerRepository;
+import edu.senla.model.catalog.MenuCatalogSnapshot;
+import edu.senla.model.entity.ContainerType;
+import edu.senla.model.entity.Dish;
+import edu.senla.service.MenuCatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Service
+@Log4j2
+public class MenuCatalogServiceImpl implements MenuCatalogService {
+
+    private final DishRepository dishRepository;
+    private final TypeOfContainerRepository typeOfContainerRepository;
+
+    private volatile MenuCatalogSnapshot snapshot;
+    private long lastVersion;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInitialSnapshot() {
+        rebuildSnapshot();
+    }
+
+    public MenuCatalogSnapshot getSnapshot() {
+        MenuCatalogSnapshot currentSnapshot = snapshot;
+        if (currentSnapshot == null) {
+            rebuildSnapshot();
+            currentSnapshot = snapshot;
+        }
+        return currentSnapshot;
+    }
+
+    public synchronized void rebuildSnapshot() {
+        MenuCatalogSnapshot newSnapshot = MenuCatalogSnapshot.of(++lastVersion,
+                dishRepository.getAllWithDishInformation(), typeOfContainerRepository.findAll());
+        snapshot = newSnapshot;
+        log.info("Menu catalog snapshot {} built with {} dishes", newSnapshot.getVersion(), newSnapshot.getNumberOfDishes());
+    }
+
+    public synchronized void refreshDish(long dishId) {
+        MenuCatalogSnapshot currentSnapshot = snapshot;
+        if (currentSnapshot == null) {
+            rebuildSnapshot();
+            return;
+        }
+        List<Dish> dishes = dishRepository.getAllWithDishInformationByIdIn(List.of(dishId));
+        MenuCatalogSnapshot newSnapshot = currentSnapshot.withDish(++lastVersion, dishId, dishes.isEmpty() ? null : dishes.get(0));
+        snapshot = newSnapshot;
+        log.info("Menu catalog snapshot {} built with refreshed dish {}", newSnapshot.getVersion(), dishId);
+    }
+
+    public MenuCatalogSnapshot getSnapshotCovering(Collection<Long> dishIds, Collection<String> containerTypeNames) {
+        MenuCatalogSnapshot currentSnapshot = getSnapshot();
+        List<Long> missingDishIds = dishIds.stream().filter(id -> currentSnapshot.indexOfDish(id) < 0).distinct().toList();
+        List<String> missingContainerTypeNames = containerTypeNames.stream()
+                .filter(name -> name != null && currentSnapshot.getContainerType(name) == null).distinct().toList();
+        if (missingDishIds.isEmpty() && missingContainerTypeNames.isEmpty()) return currentSnapshot;
+        List<Dish> missingDishes = missingDishIds.isEmpty() ? List.of() : dishRepository.getAllWithDishInformationByIdIn(missingDishIds);
+        List<ContainerType> missingContainerTypes = missingContainerTypeNames.isEmpty() ? List.of() : typeOfContainerRepository.getAllByNameIn(missingContainerTypeNames);
+        return currentSnapshot.withAdditions(missingDishes, missingContainerTypes);
+    }
+}
@@ -2,6 +2,7 @@ package edu.senla.service.impl;
 
 import edu.senla.dao.UserRepository;
 import edu.senla.dao.ContainerRepository;
+import edu.senla.dao.CourierPerformanceRepository;
 import edu.senla.dao.CourierRepository;
 import edu.senla.dao.OrderRepository;
 import edu.senla.exeption.BadRequest;
@@ -10,14 +11,21 @@ import edu.senla.model.dto.*;
 import edu.senla.model.entity.User;
 import edu.senla.model.entity.Container;
 import edu.senla.model.entity.Courier;
+import edu.senla.model.entity.CourierPerformance;
 import edu.senla.model.entity.Order;
 import edu.senla.model.enums.OrderPaymentType;
 import edu.senla.model.enums.OrderStatus;
+import edu.senla.model.event.OrderClosedEvent;
+import edu.senla.model.event.OrderCreatedEvent;
 import edu.senla.service.ContainerService;
+import edu.senla.service.CourierAvailabilityService;
+import edu.senla.service.DeliveryZoneService;
 import edu.senla.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -38,11 +46,18 @@ import java.util.Optional;
 public class OrderServiceImpl extends AbstractService implements OrderService {
 
     private final ContainerService containerService;
+    private final CourierAvailabilityService courierAvailabilityService;
+    private final DeliveryZoneService deliveryZoneService;
     private final OrderRepository orderRepository;
     private final ContainerRepository containerRepository;
     private final UserRepository userRepository;
     private final CourierRepository courierRepository;
-    private static final int deliveryTimeStandard = 120;
+    private final CourierPerformanceRepository courierPerformanceRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private static final List<OrderStatus> openOrderStatuses = List.of(OrderStatus.IN_PROCESS, OrderStatus.RECEIPT_CONFIRMED);
+
+    @Value("${sla.deliveryTime:120}")
+    private int deliveryTimeStandard;
 
     public List<OrderDTO> getAllOrders(int pages) {
         log.info("Getting all orders");
@@ -59,9 +74,14 @@ public class OrderServiceImpl extends AbstractService implements OrderService {
             throw new BadRequest("There is no items in shopping cart");
         }
         shoppingCartDTO.setContainers(correctContainers);
+        checkDeliveryCoordinates(shoppingCartDTO);
         User user = userRepository.getById(clientId);
         OrderTotalCostDTO orderTotalCostDTO = createNewOrder(user, shoppingCartDTO);
         user.setAddress(shoppingCartDTO.getAddress());
+        if (shoppingCartDTO.getLatitude() != null) {
+            user.setLatitude(shoppingCartDTO.getLatitude());
+            user.setLongitude(shoppingCartDTO.getLongitude());
+        }
         return orderTotalCostDTO;
     }
 
@@ -78,7 +98,15 @@ public class OrderServiceImpl extends AbstractService implements OrderService {
     public void deleteOrder(long id) {
         log.info("Deleting order with id: {}", id);
         checkOrderExistence(id);
+        Order order = orderRepository.getById(id);
+        if (order.getCourier() != null && isOrderOpen(order)) {
+            long courierId = order.getCourier().getId();
+            Optional<Order> nextOrder = orderRepository.getAllByCourierAndStatusInOrderByTripSequenceAsc(order.getCourier(), openOrderStatuses).stream()
+                    .filter(o -> o.getId() != id).findFirst();
+            updateCourierAvailability(courierId, nextOrder);
+        }
         orderRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(new OrderClosedEvent(id));
         log.info("Order with id {} successfully deleted", id);
     }
 
@@ -94,21 +122,25 @@ public class OrderServiceImpl extends AbstractService implements OrderService {
         Order order = orderRepository.getById(orderId);
         order.setStatus(OrderStatus.RECEIPT_CONFIRMED);
         orderRepository.save(order);
+        applicationEventPublisher.publishEvent(new OrderClosedEvent(orderId));
         log.info("The order receipt {} is confirmed", orderId);
     }
 
-    public OrderClosingResponseDTO closeOrderForCourier(long id) {
+    public OrderClosingResponseDTO closeOrderForCourier(long id, Long orderId) {
         Courier courier = courierRepository.getById(id);
-        OrderStatusInfoDTO orderStatusInfoDTO = getOrderStatusInfo(id);
-        if (!isOrderConfirmedByClient(orderStatusInfoDTO.getId())) {
+        List<Order> openOrders = orderRepository.getAllByCourierAndStatusInOrderByTripSequenceAsc(courier, openOrderStatuses);
+        Order order = getOrderToClose(courier, openOrders, orderId);
+        if (!order.getStatus().equals(OrderStatus.RECEIPT_CONFIRMED)) {
             log.info("The attempt to close the order by courier {} {} failed because, the user has not confirmed its receipt", courier.getFirstName(), courier.getLastName());
             throw new BadRequest("You cannot close the order because the courier has not confirmed its receipt");
         }
-        Order order = orderRepository.getByCourierAndStatus(courier, OrderStatus.RECEIPT_CONFIRMED);
         long executionTime = ChronoUnit.MINUTES.between(order.getTime(), LocalTime.now());
         closeOrder(order, executionTime < deliveryTimeStandard);
+        applicationEventPublisher.publishEvent(new OrderClosedEvent(order.getId()));
+        Optional<Order> nextOrder = openOrders.stream().filter(o -> o.getId() != order.getId()).findFirst();
+        updateCourierAvailability(id, nextOrder);
         OrderClosingResponseDTO orderClosingResponseDTO = formOrderClosingResponseDTO(executionTime);
-        log.info("Courier {} {} closed order with id {} in time {}", courier.getFirstName(), courier.getLastName(), orderStatusInfoDTO.getId(), orderClosingResponseDTO.getExecutionTime());
+        log.info("Courier {} {} closed order with id {} in time {}", courier.getFirstName(), courier.getLastName(), order.getId(), orderClosingResponseDTO.getExecutionTime());
         return orderClosingResponseDTO;
     }
 
@@ -119,12 +151,25 @@ public class OrderServiceImpl extends AbstractService implements OrderService {
         order.setPaymentType(translateOrderPaymentType(shoppingCartDTO.getPaymentType()));
         order.setDate(LocalDate.now());
         order.setTime(LocalTime.now());
-        orderRepository.saveAndFlush(order);
+        order.setLatitude(shoppingCartDTO.getLatitude());
+        order.setLongitude(shoppingCartDTO.getLongitude());
+        order.setZone(deliveryZoneService.getOrderZone(shoppingCartDTO.getLatitude(), shoppingCartDTO.getLongitude()));
         List<Container> containers = shoppingCartDTO.getContainers().stream()
                 .map(container -> containerService.mapFromContainerComponentsDTOToContainerEntity(container, order))
                 .toList();
+        order.setTotalCost(containerService.calculateTotalOrderCost(containers));
+        orderRepository.saveAndFlush(order);
         List<Container> createdContainers = containerRepository.saveAll(containers);
-        return createOrderTotalCostDTO(createdContainers);
+        applicationEventPublisher.publishEvent(new OrderCreatedEvent(order.getId(), order.getZone()));
+        return createOrderTotalCostDTO(order, createdContainers);
+    }
+
+    private void checkDeliveryCoordinates(ShoppingCartDTO shoppingCartDTO) {
+        if (shoppingCartDTO.getLatitude() == null && shoppingCartDTO.getLongitude() == null) return;
+        if (!validationService.isCoordinatesCorrect(shoppingCartDTO.getLatitude(), shoppingCartDTO.getLongitude())) {
+            log.error("Attempt to place an order failed, delivery coordinates {}, {} are invalid", shoppingCartDTO.getLatitude(), shoppingCartDTO.getLongitude());
+            throw new BadRequest("Coordinates " + shoppingCartDTO.getLatitude() + ", " + shoppingCartDTO.getLongitude() + " are invalid");
+        }
     }
 
     private Order getOrderIfExists(long id) {
@@ -142,19 +187,37 @@ public class OrderServiceImpl extends AbstractService implements OrderService {
         }
     }
 
-    private OrderStatusInfoDTO getOrderStatusInfo(long courierId) {
-        Courier courier = courierRepository.getById(courierId);
-        Optional<Order> order = orderRepository.getAllByCourier(courier, PageRequest.of(0, 1, Sort.by("date").descending())).stream()
-                .filter(o -> o.getStatus().equals(OrderStatus.RECEIPT_CONFIRMED) || o.getStatus().equals(OrderStatus.IN_PROCESS)).findFirst();
-        return formOrderStatusInfoDTO(order);
+    private Order getOrderToClose(Courier courier, List<Order> openOrders, Long orderId) {
+        if (orderId == null) {
+            return openOrders.stream()
+                    .filter(o -> o.getStatus().equals(OrderStatus.RECEIPT_CONFIRMED))
+                    .findFirst()
+                    .orElseGet(() -> openOrders.stream().findFirst().orElseThrow(() -> {
+                        log.info("The attempt to close the order by courier {} {} failed because courier has no current order", courier.getFirstName(), courier.getLastName());
+                        return new NotFound("Courier has no current order");
+                    }));
+        }
+        return openOrders.stream().filter(o -> o.getId() == orderId).findFirst().orElseThrow(() -> {
+            log.info("The attempt to close the order {} by courier {} {} failed because it is not in the courier's current trip", orderId, courier.getFirstName(), courier.getLastName());
+            return new BadRequest("This order is not in your current trip");
+        });
+    }
+
+    private void updateCourierAvailability(long courierId, Optional<Order> nextOrder) {
+        if (nextOrder.isPresent()) {
+            long nextOrderId = nextOrder.get().getId();
+            runAfterCommit(() -> courierAvailabilityService.assignOrderToCourier(courierId, nextOrderId));
+        } else {
+            runAfterCommit(() -> courierAvailabilityService.releaseCourier(courierId));
+        }
     }
 
     private boolean isOrderIsInProcess(long id) {
         return orderRepository.getById(id).getStatus().equals(OrderStatus.IN_PROCESS);
     }
 
-    private boolean isOrderConfirmedByClient(long id) {
-        return orderRepository.getById(id).getStatus().equals(OrderStatus.RECEIPT_CONFIRMED);
+    private boolean isOrderOpen(Order order) {
+        return order.getStatus().equals(OrderStatus.IN_PROCESS) || order.getStatus().equals(OrderStatus.RECEIPT_CONFIRMED);
     }
 
     private boolean isOrderBelongToClient(long id, long clientId) {
@@ -163,16 +226,9 @@ public class OrderServiceImpl extends AbstractService implements OrderService {
         return order.getUser().equals(user);
     }
 
-    private OrderStatusInfoDTO formOrderStatusInfoDTO(Optional<Order> order) {
-        return order.map(item -> new OrderStatusInfoDTO()
-                .setStatus(item.getStatus().toString().toLowerCase(Locale.ROOT))
-                .setId(item.getId()))
-                .orElse(null);
-    }
-
-    private OrderTotalCostDTO createOrderTotalCostDTO(List<Container> containers) {
+    private OrderTotalCostDTO createOrderTotalCostDTO(Order order, List<Container> containers) {
         OrderTotalCostDTO orderTotalCostDTO = new OrderTotalCostDTO();
-        orderTotalCostDTO.setOrderTotalCost(containerService.calculateTotalOrderCost(containers));
+        orderTotalCostDTO.setOrderTotalCost(order.getTotalCost());
         List<ContainerComponentsNamesDTO> containerComponentsDTOS = containers.stream().map(containerService::mapFromContainerEntityToContainerComponentsNamesDTO).toList();
         orderTotalCostDTO.setContainerComponentsDTOS(containerComponentsDTOS);
         return orderTotalCostDTO;
@@ -189,6 +245,24 @@ public class OrderServiceImpl extends AbstractService implements OrderService {
         OrderStatus orderStatus = isOrderCompletedOnTime ? OrderStatus.COMPLETED_ON_TIME : OrderStatus.COMPLETED_LATE;
         order.setStatus(orderStatus);
         orderRepository.save(order);
+        updateCourierPerformance(order, isOrderCompletedOnTime);
+    }
+
+    private void updateCourierPerformance(Order order, boolean isOrderCompletedOnTime) {
+        long courierId = order.getCourier().getId();
+        CourierPerformance performance = courierPerformanceRepository.getForUpdateByCourierId(courierId);
+        if (performance == null) performance = new CourierPerformance(courierId, 0, 0, 0, 0, null);
+        performance.setNumberOfOrdersDelivered(performance.getNumberOfOrdersDelivered() + 1);
+        if (isOrderCompletedOnTime) {
+            performance.setNumberOfOrdersDeliveredOnTime(performance.getNumberOfOrdersDeliveredOnTime() + 1);
+        } else {
+            performance.setNumberOfOrdersDeliveredLate(performance.getNumberOfOrdersDeliveredLate() + 1);
+        }
+        if (performance.getLastWorkingDay() == null || order.getDate().isAfter(performance.getLastWorkingDay())) {
+            performance.setNumberOfWorkingDays(performance.getNumberOfWorkingDays() + 1);
+            performance.setLastWorkingDay(order.getDate());
+        }
+        courierPerformanceRepository.save(performance);
     }
 
     private OrderPaymentType translateOrderPaymentType(String orderPaymentType) {
@@ -0,0 +1,81 @@
+package edu.senla.service.impl;
+
+import edu.senla.exeption.ServiceUnavailable;
+import edu.senla.service.PasswordHashingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+
+@RequiredArgsConstructor
+@Service
+@Log4j2
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private static final String busyMessage = "Too many sign-in requests at the moment, please try again later";
+
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${security.passwordHashing.threads:2}")
+    private int numberOfThreads;
+
+    @Value("${security.passwordHashing.queueCapacity:32}")
+    private int queueCapacity;
+
+    @Value("${security.passwordHashing.timeout:5000}")
+    private long timeoutMillis;
+
+    private ThreadPoolExecutor hashingExecutor;
+
+    @PostConstruct
+    public void startHashingExecutor() {
+        hashingExecutor = new ThreadPoolExecutor(numberOfThreads, numberOfThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void stopHashingExecutor() {
+        hashingExecutor.shutdownNow();
+    }
+
+    public String encode(String rawPassword) {
+        return hash(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return hash(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public boolean isUpgradeNeeded(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Callable<T> hashing) {
+        Future<T> result;
+        try {
+            result = hashingExecutor.submit(hashing);
+        } catch (RejectedExecutionException exception) {
+            log.warn("Password hashing rejected, {} hashes are already queued", hashingExecutor.getQueue().size());
+            throw new ServiceUnavailable(busyMessage);
+        }
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            result.cancel(true);
+            log.warn("Password hashing did not finish within {} ms", timeoutMillis);
+            throw new ServiceUnavailable(busyMessage);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new ServiceUnavailable(busyMessage);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+}
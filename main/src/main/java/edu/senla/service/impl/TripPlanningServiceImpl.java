@@ -0,0 +1,76 @@
+package edu.senla.service.impl;
+
+import edu.senla.model.entity.Order;
+import edu.senla.service.TripPlanningService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+public class TripPlanningServiceImpl implements TripPlanningService {
+
+    private static final Pattern houseNumberPattern = Pattern.compile("\\d+");
+
+    public List<Order> chooseTripOrders(Order firstOrder, List<Order> candidateOrders, int maxOrdersPerTrip) {
+        TripAddress firstAddress = parseAddress(firstOrder);
+        if (firstAddress == null) return List.of(firstOrder);
+        List<Order> tripOrders = new ArrayList<>(maxOrdersPerTrip);
+        tripOrders.add(firstOrder);
+        candidateOrders.stream()
+                .filter(o -> o.getId() != firstOrder.getId())
+                .filter(o -> firstAddress.isSameStreet(parseAddress(o)))
+                .sorted(Comparator.comparingInt(o -> firstAddress.distanceTo(parseAddress(o))))
+                .limit(maxOrdersPerTrip - 1L)
+                .forEach(tripOrders::add);
+        return tripOrders;
+    }
+
+    public List<Order> orderTripStops(Order firstOrder, List<Order> tripOrders) {
+        List<Order> remainingOrders = new ArrayList<>(tripOrders);
+        remainingOrders.removeIf(o -> o.getId() == firstOrder.getId());
+        List<Order> stops = new ArrayList<>(tripOrders.size());
+        stops.add(firstOrder);
+        TripAddress currentAddress = parseAddress(firstOrder);
+        while (!remainingOrders.isEmpty()) {
+            TripAddress fromAddress = currentAddress;
+            Order nearestOrder = remainingOrders.stream()
+                    .min(Comparator.comparingInt(o -> fromAddress == null ? 0 : fromAddress.distanceTo(parseAddress(o))))
+                    .orElseThrow();
+            remainingOrders.remove(nearestOrder);
+            stops.add(nearestOrder);
+            currentAddress = parseAddress(nearestOrder);
+        }
+        return stops;
+    }
+
+    private TripAddress parseAddress(Order order) {
+        String address = order.getUser() == null ? null : order.getUser().getAddress();
+        if (address == null || address.isBlank()) return null;
+        Matcher houseNumberMatcher = houseNumberPattern.matcher(address);
+        if (!houseNumberMatcher.find()) return new TripAddress(normalizeStreet(address), 0);
+        String street = normalizeStreet(address.substring(0, houseNumberMatcher.start()));
+        String houseNumber = houseNumberMatcher.group();
+        return new TripAddress(street, houseNumber.length() > 9 ? 0 : Integer.parseInt(houseNumber));
+    }
+
+    private String normalizeStreet(String street) {
+        return street.replaceAll("[\\s,.]+", " ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record TripAddress(String street, int houseNumber) {
+
+        boolean isSameStreet(TripAddress address) {
+            return address != null && street.equals(address.street);
+        }
+
+        int distanceTo(TripAddress address) {
+            if (!isSameStreet(address)) return Integer.MAX_VALUE;
+            return Math.abs(houseNumber - address.houseNumber);
+        }
+    }
+}
@@ -29,4 +29,10 @@ public class ValidationServiceImpl implements ValidationService {
     public boolean isPhoneCorrect(String phone) {
         return phone.length() == 13 && (phone.startsWith("+37533") || phone.startsWith("+37529") || phone.startsWith("+37544"));
     }
+
+    public boolean isCoordinatesCorrect(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
 }
@@ -10,6 +10,7 @@ import edu.senla.model.entity.User;
 import edu.senla.model.entity.Courier;
 import edu.senla.model.enums.Roles;
 import edu.senla.security.JwtProvider;
+import edu.senla.security.UserDetailsImpl;
 import edu.senla.service.impl.ClientServiceImpl;
 import edu.senla.service.impl.CourierServiceImpl;
 import lombok.SneakyThrows;
@@ -107,7 +108,7 @@ class AuthenticationControllerTest {
                 .andDo(print())
                 .andExpect(status().isBadRequest());
         verify(clientService, never()).getClientByUsernameAndPassword(any(), any());
-        verify(jwtProvider, never()).generateToken(any());
+        verify(jwtProvider, never()).generateToken(any(UserDetailsImpl.class));
     }
 
     @SneakyThrows
@@ -124,7 +125,7 @@ class AuthenticationControllerTest {
                 .andDo(print())
                 .andExpect(status().isNotFound());
         verify(clientService, times(1)).getClientByUsernameAndPassword(any(), any());
-        verify(jwtProvider, never()).generateToken(any());
+        verify(jwtProvider, never()).generateToken(any(UserDetailsImpl.class));
     }
 
     @SneakyThrows
@@ -141,7 +142,7 @@ class AuthenticationControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
         verify(clientService, times(1)).getClientByUsernameAndPassword(any(), any());
-        verify(jwtProvider, times(1)).generateToken(any());
+        verify(jwtProvider, times(1)).generateToken(any(UserDetailsImpl.class));
     }*/
 
     @SneakyThrows
@@ -155,7 +156,7 @@ class AuthenticationControllerTest {
                 .andDo(print())
                 .andExpect(status().isBadRequest());
         verify(courierService, never()).getCourierByPhoneAndPassword(any());
-        verify(jwtProvider, never()).generateToken(any());
+        verify(jwtProvider, never()).generateToken(any(UserDetailsImpl.class));
     }
 
     @SneakyThrows
@@ -172,7 +173,7 @@ class AuthenticationControllerTest {
                 .andDo(print())
                 .andExpect(status().isNotFound());
         verify(courierService, times(1)).getCourierByPhoneAndPassword(any());
-        verify(jwtProvider, never()).generateToken(any());
+        verify(jwtProvider, never()).generateToken(any(UserDetailsImpl.class));
     }
 
     @SneakyThrows
@@ -189,7 +190,7 @@ class AuthenticationControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
         verify(courierService, times(1)).getCourierByPhoneAndPassword(any());
-        verify(jwtProvider, times(1)).generateToken(any());
+        verify(jwtProvider, times(1)).generateToken(any(UserDetailsImpl.class));
     }
 
 }
\ No newline at end of file
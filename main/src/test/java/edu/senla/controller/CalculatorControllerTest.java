@@ -4,9 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.senla.controller.impl.CalculatorControllerImpl;
 import edu.senla.dao.DishRepository;
 import edu.senla.model.dto.ContainerComponentsDTO;
+import edu.senla.model.dto.ContainerMacroTargetsDTO;
 import edu.senla.model.dto.DishInformationDTO;
 import edu.senla.model.entity.Dish;
 import edu.senla.model.enums.DishType;
+import edu.senla.service.impl.ContainerOptimizationServiceImpl;
 import edu.senla.service.impl.ContainerServiceImpl;
 import edu.senla.service.DishInformationService;
 import lombok.SneakyThrows;
@@ -21,13 +23,18 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import javax.transaction.Transactional;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -49,6 +56,9 @@ public class CalculatorControllerTest {
     @SpyBean
     private ContainerServiceImpl containerService;
 
+    @SpyBean
+    private ContainerOptimizationServiceImpl containerOptimizationService;
+
     @SpyBean
     private DishInformationService dishInformationService;
 
@@ -205,4 +215,64 @@ public class CalculatorControllerTest {
         verify(containerService, times(1)).calculateWeightOfDishes(any());
     }
 
-}
\ No newline at end of file
+    @SneakyThrows
+    @Test
+    void testGetWeightOfProductsInContainersUnauthorizedStatus() {
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/calculations/containerParams/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+        verify(containerService, never()).calculateWeightOfDishesInBatch(any());
+    }
+
+    @SneakyThrows
+    @WithMockUser(roles = {"USER"})
+    @Test
+    void testGetWeightOfProductsInContainersOkStatus() {
+        ContainerComponentsDTO correctContainer = new ContainerComponentsDTO("XS", meat.getId(), garnish.getId(), salad.getId(), sauce.getId());
+        ContainerComponentsDTO incorrectContainer = new ContainerComponentsDTO("XS", meat.getId(), meat.getId(), meat.getId(), meat.getId());
+        String containerComponentsListJson = mapper.writeValueAsString(List.of(correctContainer, incorrectContainer));
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                .get("/calculations/containerParams/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(containerComponentsListJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].message").isNotEmpty());
+        verify(containerService, times(1)).calculateWeightOfDishesInBatch(any());
+    }
+
+    @SneakyThrows
+    @Test
+    void testGetOptimalContainerUnauthorizedStatus() {
+        String containerMacroTargetsJson = mapper.writeValueAsString(new ContainerMacroTargetsDTO("XS", 40.0, null, null));
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/calculations/optimalContainer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(containerMacroTargetsJson))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+        verify(containerOptimizationService, never()).findOptimalContainer(any());
+    }
+
+    @SneakyThrows
+    @WithMockUser(roles = {"USER"})
+    @Test
+    void testGetOptimalContainerWhenTypeIsInvalid() {
+        String containerMacroTargetsJson = mapper.writeValueAsString(new ContainerMacroTargetsDTO("wrong", 40.0, null, null));
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/calculations/optimalContainer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(containerMacroTargetsJson))
+                .andDo(print())
+                .andExpect(jsonPath("$.message").isNotEmpty());
+        verify(containerOptimizationService, times(1)).findOptimalContainer(any());
+    }
+
+}
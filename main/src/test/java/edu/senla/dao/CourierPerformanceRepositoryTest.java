@@ -0,0 +1,90 @@
+package edu.senla.dao;
+
+import edu.senla.model.entity.Courier;
+import edu.senla.model.entity.CourierPerformance;
+import edu.senla.model.enums.CourierStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.yml")
+@ActiveProfiles("test")
+class CourierPerformanceRepositoryTest {
+
+    @Autowired
+    private CourierPerformanceRepository courierPerformanceRepository;
+
+    @Autowired
+    private CourierRepository courierRepository;
+
+    private final List<Courier> couriers = new ArrayList<>();
+    private final List<CourierPerformance> performances = new ArrayList<>();
+
+    @BeforeEach
+    void createCouriersWithPerformance() {
+        int[][] performanceValues = {{1000, 999, 10}, {1000, 999, 3}, {900, 900, 9}};
+        for (int i = 0; i < performanceValues.length; i++) {
+            Courier courier = new Courier();
+            courier.setFirstName("Courier");
+            courier.setLastName("Courier");
+            courier.setPhone(String.format("+37533%07d", i));
+            courier.setPassword("password");
+            courier.setStatus(CourierStatus.ACTIVE);
+            couriers.add(courierRepository.save(courier));
+            int[] values = performanceValues[i];
+            performances.add(new CourierPerformance(courier.getId(), values[0], values[1], values[0] - values[1], values[2], LocalDate.now()));
+        }
+        courierPerformanceRepository.saveAll(performances);
+    }
+
+    @AfterEach
+    void deleteCouriersWithPerformance() {
+        courierPerformanceRepository.deleteAll(performances);
+        courierRepository.deleteAll(couriers);
+    }
+
+    @Test
+    void testCouriersRatingByDeliveredContinuesAfterCursor() {
+        List<Object[]> firstPage = courierPerformanceRepository.getCouriersWithPerformanceAfterByDelivered(Double.MAX_VALUE, 0, PageRequest.of(0, 2));
+        assertEquals(List.of(getCourierId(0), getCourierId(1)), getCourierIds(firstPage));
+        List<Object[]> secondPage = courierPerformanceRepository.getCouriersWithPerformanceAfterByDelivered(1000, getCourierId(1), PageRequest.of(0, 2));
+        assertEquals(getCourierId(2), getCourierIds(secondPage).get(0));
+    }
+
+    @Test
+    void testCouriersRatingByOnTimeContinuesAfterCursor() {
+        List<Object[]> firstPage = courierPerformanceRepository.getCouriersWithPerformanceAfterByOnTime(Double.MAX_VALUE, 0, PageRequest.of(0, 2));
+        assertEquals(List.of(getCourierId(2), getCourierId(0)), getCourierIds(firstPage));
+        double onTimeSortValue = ((double) 999 / 1000) * 100;
+        List<Object[]> secondPage = courierPerformanceRepository.getCouriersWithPerformanceAfterByOnTime(onTimeSortValue, getCourierId(0), PageRequest.of(0, 1));
+        assertEquals(List.of(getCourierId(1)), getCourierIds(secondPage));
+    }
+
+    @Test
+    void testCouriersRatingByPerDayContinuesAfterCursor() {
+        List<Object[]> firstPage = courierPerformanceRepository.getCouriersWithPerformanceAfterByPerDay(Double.MAX_VALUE, 0, PageRequest.of(0, 1));
+        assertEquals(List.of(getCourierId(1)), getCourierIds(firstPage));
+        List<Object[]> secondPage = courierPerformanceRepository.getCouriersWithPerformanceAfterByPerDay((double) 1000 / 3, getCourierId(1), PageRequest.of(0, 2));
+        assertEquals(List.of(getCourierId(0), getCourierId(2)), getCourierIds(secondPage));
+    }
+
+    private long getCourierId(int index) {
+        return couriers.get(index).getId();
+    }
+
+    private List<Long> getCourierIds(List<Object[]> rating) {
+        return rating.stream().map(r -> ((Courier) r[0]).getId()).toList();
+    }
+}
@@ -0,0 +1,128 @@
+package edu.senla.dao;
+
+import edu.senla.model.entity.Courier;
+import edu.senla.model.entity.Order;
+import edu.senla.model.entity.User;
+import edu.senla.model.enums.CourierStatus;
+import edu.senla.model.enums.OrderPaymentType;
+import edu.senla.model.enums.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.yml")
+@ActiveProfiles("test")
+class OrderBatchRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CourierRepository courierRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private final List<Courier> couriers = new ArrayList<>();
+    private final List<Order> orders = new ArrayList<>();
+
+    @BeforeEach
+    void createOrdersAndCouriers() {
+        user = new User();
+        user.setFirstName("Client");
+        user.setLastName("Client");
+        user.setPhone("+375291111111");
+        user.setEmail("batch@test.com");
+        user.setUsername("batchTestClient");
+        user.setPassword("password");
+        userRepository.save(user);
+        for (int i = 0; i < 3; i++) {
+            Courier courier = new Courier();
+            courier.setFirstName("Courier");
+            courier.setLastName("Courier");
+            courier.setPhone(String.format("+37525%07d", i));
+            courier.setPassword("password");
+            courier.setStatus(CourierStatus.ACTIVE);
+            couriers.add(courierRepository.save(courier));
+        }
+        for (int i = 0; i < 3; i++) {
+            Order order = new Order();
+            order.setUser(user);
+            order.setStatus(OrderStatus.NEW);
+            order.setPaymentType(OrderPaymentType.CASH_TO_COURIER);
+            order.setDate(LocalDate.now());
+            order.setTime(LocalTime.now().minusMinutes(3 - i));
+            orders.add(order);
+        }
+        Order claimedOrder = orders.get(1);
+        claimedOrder.setStatus(OrderStatus.IN_PROCESS);
+        claimedOrder.setCourier(couriers.get(2));
+        orderRepository.saveAll(orders);
+    }
+
+    @AfterEach
+    void deleteOrdersAndCouriers() {
+        orderRepository.deleteAll(orders);
+        courierRepository.deleteAll(couriers);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void testAssignCouriersToNewOrdersSkipsClaimedOrders() {
+        int[] updatedRows = orderRepository.assignCouriersToNewOrders(getOrderIds(),
+                List.of(couriers.get(0).getId(), couriers.get(1).getId(), couriers.get(1).getId()), Arrays.asList(null, 1, 2));
+        assertArrayEquals(new int[]{1, 0, 1}, updatedRows);
+        assertAssignedCouriers();
+    }
+
+    @Test
+    void testAssignCouriersToNewOrdersRechecksRowsWithoutUpdateCounts() {
+        JdbcTemplate jdbcTemplateWithoutUpdateCounts = spy(jdbcTemplate);
+        doAnswer(invocation -> {
+            int[] updatedRows = (int[]) invocation.callRealMethod();
+            Arrays.fill(updatedRows, Statement.SUCCESS_NO_INFO);
+            return updatedRows;
+        }).when(jdbcTemplateWithoutUpdateCounts).batchUpdate(anyString(), anyList());
+        int[] updatedRows = new OrderBatchRepositoryImpl(jdbcTemplateWithoutUpdateCounts).assignCouriersToNewOrders(getOrderIds(),
+                List.of(couriers.get(0).getId(), couriers.get(1).getId(), couriers.get(1).getId()), Arrays.asList(null, 1, 2));
+        assertArrayEquals(new int[]{1, 0, 1}, updatedRows);
+        assertAssignedCouriers();
+    }
+
+    private List<Long> getOrderIds() {
+        return orders.stream().map(Order::getId).toList();
+    }
+
+    private void assertAssignedCouriers() {
+        List<Order> assignedOrders = getOrderIds().stream().map(id -> orderRepository.findById(id).orElseThrow()).toList();
+        assertTrue(assignedOrders.stream().allMatch(o -> o.getStatus().equals(OrderStatus.IN_PROCESS)));
+        assertEquals(couriers.get(0).getId(), assignedOrders.get(0).getCourier().getId());
+        assertEquals(couriers.get(2).getId(), assignedOrders.get(1).getCourier().getId());
+        assertEquals(couriers.get(1).getId(), assignedOrders.get(2).getCourier().getId());
+        assertNull(assignedOrders.get(1).getTripSequence());
+        assertEquals(2, assignedOrders.get(2).getTripSequence());
+    }
+}
@@ -0,0 +1,75 @@
+package edu.senla.dao;
+
+import edu.senla.model.entity.Courier;
+import edu.senla.model.entity.User;
+import edu.senla.model.enums.CourierStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.yml")
+@ActiveProfiles("test")
+class PasswordRepositoryTest {
+
+    private static final String username = "passwordTestClient";
+    private static final String phone = "+375447777777";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourierRepository courierRepository;
+
+    private User user;
+    private Courier courier;
+
+    @BeforeEach
+    void createUserAndCourier() {
+        user = new User();
+        user.setFirstName("Client");
+        user.setLastName("Client");
+        user.setPhone("+375291234321");
+        user.setEmail("password@test.com");
+        user.setUsername(username);
+        user.setPassword("oldUserHash");
+        userRepository.save(user);
+        courier = new Courier();
+        courier.setFirstName("Courier");
+        courier.setLastName("Courier");
+        courier.setPhone(phone);
+        courier.setPassword("oldCourierHash");
+        courier.setStatus(CourierStatus.INACTIVE);
+        courierRepository.save(courier);
+    }
+
+    @AfterEach
+    void deleteUserAndCourier() {
+        userRepository.delete(user);
+        courierRepository.delete(courier);
+    }
+
+    @Test
+    void testUserPasswordIsReadAndRehashedOnlyIfUnchanged() {
+        assertEquals("oldUserHash", userRepository.getPasswordByUsername(username));
+        assertNull(userRepository.getPasswordByUsername("missingClient"));
+        assertEquals(0, userRepository.updatePasswordByUsernameIfUnchanged(username, "changedHash", "newUserHash"));
+        assertEquals(1, userRepository.updatePasswordByUsernameIfUnchanged(username, "oldUserHash", "newUserHash"));
+        assertEquals("newUserHash", userRepository.getPasswordByUsername(username));
+    }
+
+    @Test
+    void testCourierPasswordIsReadAndRehashedOnlyIfUnchanged() {
+        assertEquals("oldCourierHash", courierRepository.getPasswordByPhone(phone));
+        assertNull(courierRepository.getPasswordByPhone("+375440000000"));
+        assertEquals(0, courierRepository.updatePasswordByPhoneIfUnchanged(phone, "changedHash", "newCourierHash"));
+        assertEquals(1, courierRepository.updatePasswordByPhoneIfUnchanged(phone, "oldCourierHash", "newCourierHash"));
+        assertEquals("newCourierHash", courierRepository.getPasswordByPhone(phone));
+    }
+}
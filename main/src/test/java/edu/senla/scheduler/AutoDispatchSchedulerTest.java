@@ -0,0 +1,159 @@
+package edu.senla.scheduler;
+
+import edu.senla.dao.DispatchZoneLeaseRepository;
+import edu.senla.model.dto.DispatcherStatisticsDTO;
+import edu.senla.model.dto.OrdersAssignmentResultDTO;
+import edu.senla.model.event.OrderCreatedEvent;
+import edu.senla.service.CourierService;
+import edu.senla.service.DeliveryZoneService;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutoDispatchSchedulerTest {
+
+    private static final String instanceId = "instance-1";
+
+    @Mock
+    private CourierService courierService;
+
+    @Mock
+    private DeliveryZoneService deliveryZoneService;
+
+    @Mock
+    private DispatchZoneLeaseRepository dispatchZoneLeaseRepository;
+
+    @InjectMocks
+    private AutoDispatchScheduler autoDispatchScheduler;
+
+    @BeforeEach
+    void configureScheduler() {
+        ReflectionTestUtils.setField(autoDispatchScheduler, "isEnabled", true);
+        ReflectionTestUtils.setField(autoDispatchScheduler, "isDispatchOnOrderCreated", true);
+        ReflectionTestUtils.setField(autoDispatchScheduler, "numberOfThreads", 2);
+        ReflectionTestUtils.setField(autoDispatchScheduler, "leaseDurationMillis", 15000L);
+        ReflectionTestUtils.setField(autoDispatchScheduler, "instanceId", instanceId);
+    }
+
+    @AfterEach
+    void stopScheduler() {
+        autoDispatchScheduler.stopDispatchExecutor();
+    }
+
+    @SneakyThrows
+    @Test
+    void testConcurrentDispatchTriggersAreCoalesced() {
+        CountDownLatch dispatchStarted = new CountDownLatch(1);
+        CountDownLatch dispatchReleased = new CountDownLatch(1);
+        when(deliveryZoneService.getNumberOfZones()).thenReturn(1);
+        when(courierService.assignOrdersToActiveCouriersInZone(0)).thenAnswer(invocation -> {
+            dispatchStarted.countDown();
+            dispatchReleased.await();
+            return new OrdersAssignmentResultDTO(1, 0, 0);
+        });
+        autoDispatchScheduler.startDispatchExecutor();
+        autoDispatchScheduler.dispatchByTimer();
+        assertTrue(dispatchStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 50; i++) {
+            autoDispatchScheduler.dispatchOnOrderCreated(new OrderCreatedEvent(i, 0));
+        }
+        autoDispatchScheduler.dispatchByTimer();
+        dispatchReleased.countDown();
+        awaitDispatchRuns(2);
+        Thread.sleep(50);
+        verify(courierService, times(2)).assignOrdersToActiveCouriersInZone(0);
+        assertEquals(2, autoDispatchScheduler.getStatistics().getTotalAssignedOrders());
+    }
+
+    @Test
+    void testOnlyLeasedZonesAreDispatched() {
+        Set<Integer> leasedZones = ConcurrentHashMap.newKeySet();
+        leasedZones.addAll(Set.of(0, 2));
+        ReflectionTestUtils.setField(autoDispatchScheduler, "isLeasingEnabled", true);
+        when(deliveryZoneService.getNumberOfZones()).thenReturn(3);
+        when(dispatchZoneLeaseRepository.acquireLease(anyInt(), eq(instanceId), any(), any()))
+                .thenAnswer(invocation -> leasedZones.contains(invocation.<Integer>getArgument(0)));
+        when(courierService.assignOrdersToActiveCouriersInZone(anyInt())).thenReturn(new OrdersAssignmentResultDTO(0, 0, 0));
+        autoDispatchScheduler.startDispatchExecutor();
+        verify(dispatchZoneLeaseRepository, times(1)).createMissingLeases(3);
+
+        autoDispatchScheduler.dispatchByTimer();
+        awaitDispatchRuns(2);
+        autoDispatchScheduler.dispatchOnOrderCreated(new OrderCreatedEvent(7, 1));
+        assertEquals(List.of(0, 2), autoDispatchScheduler.getStatistics().getOwnedZones());
+        verify(courierService, times(1)).assignOrdersToActiveCouriersInZone(0);
+        verify(courierService, times(1)).assignOrdersToActiveCouriersInZone(2);
+        verify(courierService, never()).assignOrdersToActiveCouriersInZone(1);
+
+        leasedZones.remove(2);
+        autoDispatchScheduler.dispatchByTimer();
+        awaitDispatchRuns(3);
+        assertEquals(List.of(0), autoDispatchScheduler.getStatistics().getOwnedZones());
+        verify(courierService, times(1)).assignOrdersToActiveCouriersInZone(2);
+
+        autoDispatchScheduler.stopDispatchExecutor();
+        verify(dispatchZoneLeaseRepository, times(1)).releaseLease(0, instanceId);
+        verify(dispatchZoneLeaseRepository, never()).releaseLease(2, instanceId);
+    }
+
+    @Test
+    void testStatisticsCountDispatchRuns() {
+        when(deliveryZoneService.getNumberOfZones()).thenReturn(2);
+        when(courierService.assignOrdersToActiveCouriersInZone(0)).thenReturn(new OrdersAssignmentResultDTO(3, 4, 0));
+        when(courierService.assignOrdersToActiveCouriersInZone(1)).thenThrow(new IllegalStateException("Dispatch failed"));
+        autoDispatchScheduler.startDispatchExecutor();
+        DispatcherStatisticsDTO initialStatistics = autoDispatchScheduler.getStatistics();
+        assertTrue(initialStatistics.isEnabled());
+        assertEquals(0, initialStatistics.getTotalDispatchRuns());
+        assertEquals(0, initialStatistics.getAverageDispatchDurationMillis());
+        assertNull(initialStatistics.getLastDispatchTime());
+
+        autoDispatchScheduler.dispatchByTimer();
+        awaitDispatchRuns(2);
+        DispatcherStatisticsDTO statistics = autoDispatchScheduler.getStatistics();
+        assertEquals(3, statistics.getTotalAssignedOrders());
+        assertEquals(4, statistics.getQueueDepth());
+        assertEquals(List.of(0, 1), statistics.getOwnedZones());
+        assertTrue(statistics.getMaxDispatchDurationMillis() >= statistics.getAverageDispatchDurationMillis());
+        assertNotNull(statistics.getLastDispatchTime());
+    }
+
+    @Test
+    void testDisabledSchedulerDoesNotDispatch() {
+        ReflectionTestUtils.setField(autoDispatchScheduler, "isEnabled", false);
+        autoDispatchScheduler.startDispatchExecutor();
+        autoDispatchScheduler.dispatchByTimer();
+        autoDispatchScheduler.dispatchOnOrderCreated(new OrderCreatedEvent(1, 0));
+        DispatcherStatisticsDTO statistics = autoDispatchScheduler.getStatistics();
+        verifyNoInteractions(courierService, deliveryZoneService, dispatchZoneLeaseRepository);
+        assertFalse(statistics.isEnabled());
+        assertEquals(0, statistics.getTotalDispatchRuns());
+        assertTrue(statistics.getOwnedZones().isEmpty());
+    }
+
+    @SneakyThrows
+    private void awaitDispatchRuns(long runs) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (autoDispatchScheduler.getStatistics().getTotalDispatchRuns() < runs && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(runs, autoDispatchScheduler.getStatistics().getTotalDispatchRuns());
+    }
+}
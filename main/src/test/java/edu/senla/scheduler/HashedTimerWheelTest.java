@@ -0,0 +1,59 @@
+package edu.senla.scheduler;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimerWheelTest {
+
+    @SneakyThrows
+    @Test
+    void testTimeoutsExpireInDeadlineOrder() {
+        HashedTimerWheel<String> timerWheel = new HashedTimerWheel<>(10, 8, 1000);
+        List<String> expired = new ArrayList<>();
+        timerWheel.schedule("late", 150);
+        timerWheel.schedule("early", 20);
+        timerWheel.schedule("overdue", -1000);
+        timerWheel.advance(expired::add);
+        assertEquals(List.of("overdue"), expired);
+        Thread.sleep(60);
+        timerWheel.advance(expired::add);
+        assertEquals(List.of("overdue", "early"), expired);
+        Thread.sleep(120);
+        timerWheel.advance(expired::add);
+        assertEquals(List.of("overdue", "early", "late"), expired);
+    }
+
+    @SneakyThrows
+    @Test
+    void testCancelledTimeoutsDoNotExpire() {
+        HashedTimerWheel<String> timerWheel = new HashedTimerWheel<>(10, 8, 1000);
+        List<String> expired = new ArrayList<>();
+        HashedTimerWheel.Timeout<String> timeout = timerWheel.schedule("cancelled", 20);
+        timerWheel.schedule("kept", 20);
+        timerWheel.advance(expired::add);
+        timeout.cancel();
+        Thread.sleep(60);
+        timerWheel.advance(expired::add);
+        assertEquals(List.of("kept"), expired);
+    }
+
+    @SneakyThrows
+    @Test
+    void testTickOnlyTouchesDueTimeouts() {
+        HashedTimerWheel<Integer> timerWheel = new HashedTimerWheel<>(10, 1024, 200_000);
+        for (int i = 0; i < 100_000; i++) {
+            timerWheel.schedule(i, 60_000 + i % 1000);
+        }
+        timerWheel.schedule(-1, 15);
+        timerWheel.advance(i -> fail("Nothing is due yet"));
+        Thread.sleep(40);
+        List<Integer> expired = new ArrayList<>();
+        assertEquals(1, timerWheel.advance(expired::add));
+        assertEquals(List.of(-1), expired);
+    }
+}
@@ -0,0 +1,83 @@
+package edu.senla.security;
+
+import edu.senla.dao.CourierRepository;
+import edu.senla.model.entity.Courier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures JwtFilter throughput for a self-contained token with and without the verified-token cache.
+ * Run with {@code mvn test -Dtest=JwtFilterBenchmark -Dbenchmark=true}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean isVerifiedTokenCacheEnabled;
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final FilterChain filterChain = (request, response) -> { };
+    private JwtFilter jwtFilter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void createFilter() {
+        JwtProvider jwtProvider = new JwtProvider();
+        ReflectionTestUtils.setField(jwtProvider, "jwtSecret", "secret");
+        ReflectionTestUtils.setField(jwtProvider, "isSelfContained", true);
+        ReflectionTestUtils.setField(jwtProvider, "selfContainedSessionTime", 60);
+        ReflectionTestUtils.setField(jwtProvider, "isVerifiedTokenCacheEnabled", isVerifiedTokenCacheEnabled);
+        ReflectionTestUtils.setField(jwtProvider, "verifiedTokenCacheMaxSize", 10000);
+        jwtFilter = new JwtFilter();
+        ReflectionTestUtils.setField(jwtFilter, "jwtProvider", jwtProvider);
+        ReflectionTestUtils.setField(jwtFilter, "principalCache", new PrincipalCache());
+        CourierRepository courierRepository = mock(CourierRepository.class);
+        when(courierRepository.getTokenVersionById(1)).thenReturn(0);
+        TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry();
+        ReflectionTestUtils.setField(tokenVersionRegistry, "courierRepository", courierRepository);
+        ReflectionTestUtils.setField(tokenVersionRegistry, "timeToLiveMillis", 60000L);
+        ReflectionTestUtils.setField(tokenVersionRegistry, "maxSize", 10000);
+        ReflectionTestUtils.setField(jwtFilter, "tokenVersionRegistry", tokenVersionRegistry);
+        Courier courier = new Courier();
+        courier.setId(1);
+        courier.setPhone("+375330000001");
+        String token = jwtProvider.generateToken(UserDetailsImpl.fromCourierEntityToCourierUserDetails(courier));
+        request = new MockHttpServletRequest();
+        request.addHeader(JwtFilter.AUTHORIZATION, "Bearer " + token);
+    }
+
+    @Benchmark
+    public Authentication filterAuthenticatedRequest() throws IOException, ServletException {
+        jwtFilter.doFilter(request, response, filterChain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void runBenchmark() throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,122 @@
+package edu.senla.security;
+
+import edu.senla.dao.CourierRepository;
+import edu.senla.dao.UserRepository;
+import edu.senla.model.entity.Courier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtProviderTest {
+
+    private final JwtProvider jwtProvider = new JwtProvider();
+    private final TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CourierRepository courierRepository = mock(CourierRepository.class);
+    private UserDetailsImpl courierPrincipal;
+
+    @BeforeEach
+    void configureProvider() {
+        ReflectionTestUtils.setField(jwtProvider, "jwtSecret", "secret");
+        ReflectionTestUtils.setField(jwtProvider, "jwtSessionTime", 60);
+        ReflectionTestUtils.setField(jwtProvider, "isSelfContained", true);
+        ReflectionTestUtils.setField(jwtProvider, "selfContainedSessionTime", 15);
+        ReflectionTestUtils.setField(tokenVersionRegistry, "userRepository", userRepository);
+        ReflectionTestUtils.setField(tokenVersionRegistry, "courierRepository", courierRepository);
+        ReflectionTestUtils.setField(tokenVersionRegistry, "timeToLiveMillis", 60000L);
+        ReflectionTestUtils.setField(tokenVersionRegistry, "maxSize", 100);
+        Courier courier = new Courier();
+        courier.setId(5);
+        courier.setPhone("+375330000005");
+        courier.setTokenVersion(2);
+        courierPrincipal = UserDetailsImpl.fromCourierEntityToCourierUserDetails(courier);
+    }
+
+    @Test
+    void testSelfContainedTokenCarriesPrincipal() {
+        Claims claims = jwtProvider.getClaimsFromToken(jwtProvider.generateToken(courierPrincipal));
+        UserDetailsImpl principal = jwtProvider.getPrincipalFromClaims(claims);
+        assertEquals(5, principal.getId());
+        assertEquals(2, principal.getTokenVersion());
+        assertEquals("+375330000005", principal.getUsername());
+        assertTrue(principal.isCourier());
+        when(courierRepository.getTokenVersionById(5)).thenReturn(2);
+        assertTrue(tokenVersionRegistry.isTokenVersionValid(principal));
+    }
+
+    @Test
+    void testRevokedTokenVersionIsRejected() {
+        UserDetailsImpl principal = jwtProvider.getPrincipalFromClaims(jwtProvider.getClaimsFromToken(jwtProvider.generateToken(courierPrincipal)));
+        when(courierRepository.getTokenVersionById(5)).thenReturn(2);
+        assertTrue(tokenVersionRegistry.isTokenVersionValid(principal));
+        tokenVersionRegistry.revokeCourierTokens(5, 3);
+        assertFalse(tokenVersionRegistry.isTokenVersionValid(principal));
+        tokenVersionRegistry.revokeClientTokens(6, 3);
+        tokenVersionRegistry.revokeAllCourierTokens(4);
+        tokenVersionRegistry.revokeCourierTokens(5, 1);
+        assertFalse(tokenVersionRegistry.isTokenVersionValid(principal));
+        verify(courierRepository, times(1)).getTokenVersionById(5);
+    }
+
+    @Test
+    void testTokenVersionRevokedElsewhereIsReloaded() {
+        UserDetailsImpl principal = jwtProvider.getPrincipalFromClaims(jwtProvider.getClaimsFromToken(jwtProvider.generateToken(courierPrincipal)));
+        ReflectionTestUtils.setField(tokenVersionRegistry, "timeToLiveMillis", 0L);
+        when(courierRepository.getTokenVersionById(5)).thenReturn(2, 3);
+        assertTrue(tokenVersionRegistry.isTokenVersionValid(principal));
+        assertFalse(tokenVersionRegistry.isTokenVersionValid(principal));
+    }
+
+    @Test
+    void testTokenOfDeletedAccountIsRejected() {
+        UserDetailsImpl principal = jwtProvider.getPrincipalFromClaims(jwtProvider.getClaimsFromToken(jwtProvider.generateToken(courierPrincipal)));
+        when(courierRepository.getTokenVersionById(5)).thenReturn(null);
+        assertFalse(tokenVersionRegistry.isTokenVersionValid(principal));
+    }
+
+    @Test
+    void testSubjectOnlyTokenHasNoPrincipal() {
+        ReflectionTestUtils.setField(jwtProvider, "isSelfContained", false);
+        Claims claims = jwtProvider.getClaimsFromToken(jwtProvider.generateToken(courierPrincipal));
+        assertEquals("+375330000005", claims.getSubject());
+        assertNull(jwtProvider.getPrincipalFromClaims(claims));
+    }
+
+    @Test
+    void testVerifiedTokenIsParsedOnce() {
+        ReflectionTestUtils.setField(jwtProvider, "isVerifiedTokenCacheEnabled", true);
+        ReflectionTestUtils.setField(jwtProvider, "verifiedTokenCacheMaxSize", 2);
+        String token = jwtProvider.generateToken(courierPrincipal);
+        assertSame(jwtProvider.getClaimsFromToken(token), jwtProvider.getClaimsFromToken(token));
+    }
+
+    @Test
+    void testVerifiedTokenCacheStaysBounded() {
+        ReflectionTestUtils.setField(jwtProvider, "isVerifiedTokenCacheEnabled", true);
+        ReflectionTestUtils.setField(jwtProvider, "verifiedTokenCacheMaxSize", 2);
+        for (int i = 0; i < 10; i++) {
+            jwtProvider.getClaimsFromToken(jwtProvider.generateToken("+37533000000" + i));
+        }
+        Map<?, ?> verifiedTokens = (Map<?, ?>) ReflectionTestUtils.getField(jwtProvider, "verifiedTokens");
+        assertTrue(verifiedTokens.size() <= 2);
+    }
+
+    @Test
+    void testTamperedTokenIsRejectedEvenAfterCaching() {
+        ReflectionTestUtils.setField(jwtProvider, "isVerifiedTokenCacheEnabled", true);
+        ReflectionTestUtils.setField(jwtProvider, "verifiedTokenCacheMaxSize", 2);
+        String token = jwtProvider.generateToken(courierPrincipal);
+        jwtProvider.getClaimsFromToken(token);
+        int tamperedPosition = token.length() - 10;
+        char replacement = token.charAt(tamperedPosition) == 'A' ? 'B' : 'A';
+        String tamperedToken = token.substring(0, tamperedPosition) + replacement + token.substring(tamperedPosition + 1);
+        assertThrows(SignatureException.class, () -> jwtProvider.getClaimsFromToken(tamperedToken));
+    }
+}
@@ -0,0 +1,72 @@
+package edu.senla.security;
+
+import edu.senla.model.entity.Courier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private final PrincipalCache principalCache = new PrincipalCache();
+    private final AtomicInteger numberOfLoads = new AtomicInteger();
+    private final Function<String, UserDetailsImpl> loader = login -> {
+        numberOfLoads.incrementAndGet();
+        Courier courier = new Courier();
+        courier.setId(7);
+        courier.setPhone(login);
+        return UserDetailsImpl.fromCourierEntityToCourierUserDetails(courier);
+    };
+
+    @BeforeEach
+    void configureCache() {
+        ReflectionTestUtils.setField(principalCache, "timeToLiveMillis", 60000L);
+        ReflectionTestUtils.setField(principalCache, "maxSize", 2);
+    }
+
+    @Test
+    void testPrincipalIsLoadedOnce() {
+        UserDetailsImpl principal = principalCache.getOrLoad("+375290000001", loader);
+        assertSame(principal, principalCache.getOrLoad("+375290000001", loader));
+        assertEquals(7, principal.getId());
+        assertEquals(1, numberOfLoads.get());
+    }
+
+    @Test
+    void testInvalidatedPrincipalIsReloaded() {
+        principalCache.getOrLoad("+375290000001", loader);
+        principalCache.invalidate("+375290000001");
+        principalCache.getOrLoad("+375290000001", loader);
+        assertEquals(2, numberOfLoads.get());
+    }
+
+    @Test
+    void testPrincipalLoadedDuringInvalidationIsNotCached() {
+        principalCache.getOrLoad("+375290000001", login -> {
+            principalCache.invalidate(login);
+            return loader.apply(login);
+        });
+        principalCache.getOrLoad("+375290000001", loader);
+        assertEquals(2, numberOfLoads.get());
+    }
+
+    @Test
+    void testExpiredPrincipalIsReloaded() {
+        ReflectionTestUtils.setField(principalCache, "timeToLiveMillis", 0L);
+        principalCache.getOrLoad("+375290000001", loader);
+        principalCache.getOrLoad("+375290000001", loader);
+        assertEquals(2, numberOfLoads.get());
+    }
+
+    @Test
+    void testCacheStaysBounded() {
+        for (int i = 0; i < 10; i++) {
+            principalCache.getOrLoad("+37529000000" + i, loader);
+        }
+        assertTrue(principalCache.size() <= 2);
+    }
+}
@@ -0,0 +1,96 @@
+package edu.senla.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter rateLimitFilter = new RateLimitFilter();
+    private final RateLimitProperties rateLimitProperties = new RateLimitProperties();
+    private final JwtProvider jwtProvider = mock(JwtProvider.class);
+
+    @BeforeEach
+    void configureLimits() {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPath("/shoppingCart/**");
+        route.setMethod("POST");
+        route.setCapacity(2);
+        route.setRefillPerSecond(0.001);
+        rateLimitProperties.setEnabled(true);
+        rateLimitProperties.setRoutes(List.of(route));
+        ReflectionTestUtils.setField(rateLimitFilter, "rateLimitProperties", rateLimitProperties);
+        ReflectionTestUtils.setField(rateLimitFilter, "jwtProvider", jwtProvider);
+        ReflectionTestUtils.setField(rateLimitFilter, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void testRequestsBeyondCapacityAreRejected() throws Exception {
+        when(jwtProvider.getLoginFromToken("token")).thenReturn("client");
+        assertEquals(200, perform("POST", "/shoppingCart", "token").getStatus());
+        assertEquals(200, perform("POST", "/shoppingCart", "token").getStatus());
+        MockHttpServletResponse rejected = perform("POST", "/shoppingCart", "token");
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("message"));
+    }
+
+    @Test
+    void testClientsHaveSeparateBuckets() throws Exception {
+        when(jwtProvider.getLoginFromToken("first")).thenReturn("firstClient");
+        when(jwtProvider.getLoginFromToken("second")).thenReturn("secondClient");
+        perform("POST", "/shoppingCart", "first");
+        perform("POST", "/shoppingCart", "first");
+        assertEquals(429, perform("POST", "/shoppingCart", "first").getStatus());
+        assertEquals(200, perform("POST", "/shoppingCart", "second").getStatus());
+        assertEquals(2, rateLimitFilter.getNumberOfBuckets());
+    }
+
+    @Test
+    void testInvalidTokenIsLimitedByAddress() throws Exception {
+        when(jwtProvider.getLoginFromToken(any())).thenThrow(new MalformedJwtException("malformed"));
+        perform("POST", "/shoppingCart", "forged");
+        perform("POST", "/shoppingCart", "other forged");
+        assertEquals(429, perform("POST", "/shoppingCart", null).getStatus());
+    }
+
+    @Test
+    void testUnlistedRoutesAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, perform("GET", "/shoppingCart", null).getStatus());
+            assertEquals(200, perform("POST", "/dishes", null).getStatus());
+        }
+        assertEquals(0, rateLimitFilter.getNumberOfBuckets());
+    }
+
+    @Test
+    void testBucketRefills() {
+        TokenBucket bucket = new TokenBucket(2, 10, 0);
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        long waitNanos = bucket.tryConsume(0);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), waitNanos);
+        assertEquals(0, bucket.tryConsume(waitNanos));
+        assertFalse(bucket.isFull(waitNanos));
+        assertTrue(bucket.isFull(TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private MockHttpServletResponse perform(String method, String path, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (token != null) request.addHeader(JwtFilter.AUTHORIZATION, "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,174 @@
+package edu.senla.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.senla.exeption.BadRequest;
+import edu.senla.exeption.NotFound;
+import edu.senla.model.catalog.MenuCatalogSnapshot;
+import edu.senla.model.dto.ContainerComponentsDTO;
+import edu.senla.model.dto.ContainerComponentsParamsDTO;
+import edu.senla.model.dto.ContainerMacroTargetsDTO;
+import edu.senla.model.dto.OptimalContainerDTO;
+import edu.senla.model.entity.ContainerType;
+import edu.senla.model.entity.Dish;
+import edu.senla.model.entity.DishInformation;
+import edu.senla.model.enums.DishType;
+import edu.senla.service.impl.ContainerOptimizationServiceImpl;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerOptimizationServiceTest {
+
+    private static final double[] percentagesByTotalWeight = {0.2, 0.4, 0.3, 0.1};
+    private static final int containerCaloricContent = 800;
+
+    @Mock
+    private MenuCatalogService menuCatalogService;
+
+    @Mock
+    private ContainerService containerService;
+
+    @InjectMocks
+    private ContainerOptimizationServiceImpl containerOptimizationService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<Dish>> dishesByType = new ArrayList<>();
+
+    @BeforeEach
+    void configureOptimization() {
+        containerOptimizationService.setObjectMapper(objectMapper);
+        ReflectionTestUtils.setField(containerOptimizationService, "timeBudget", 10000L);
+        createCatalog(6);
+    }
+
+    @SneakyThrows
+    @Test
+    void testOptimalContainerMatchesExhaustiveSearch() {
+        when(containerService.calculateContainerParams(any())).thenReturn(new ContainerComponentsParamsDTO());
+        ContainerMacroTargetsDTO targets = new ContainerMacroTargetsDTO("M", 40.0, null, 90.0);
+        OptimalContainerDTO optimalContainer = containerOptimizationService.findOptimalContainer(objectMapper.writeValueAsString(targets));
+        assertEquals(findByExhaustiveSearch(targets), optimalContainer.getContainerComponents());
+        assertTrue(optimalContainer.isExact());
+        verify(containerService, times(1)).calculateContainerParams(optimalContainer.getContainerComponents());
+    }
+
+    @SneakyThrows
+    @Test
+    void testClosestContainerIsReturnedWhenTimeBudgetRunsOut() {
+        ReflectionTestUtils.setField(containerOptimizationService, "timeBudget", 0L);
+        createCatalog(200);
+        when(containerService.calculateContainerParams(any())).thenReturn(new ContainerComponentsParamsDTO());
+        String targetsJson = objectMapper.writeValueAsString(new ContainerMacroTargetsDTO("M", 30.0, 30.0, 30.0));
+        OptimalContainerDTO optimalContainer = containerOptimizationService.findOptimalContainer(targetsJson);
+        assertFalse(optimalContainer.isExact());
+        long meat = optimalContainer.getContainerComponents().getMeat();
+        assertTrue(dishesByType.get(0).stream().anyMatch(d -> d.getId() == meat));
+        verify(containerService, times(1)).calculateContainerParams(optimalContainer.getContainerComponents());
+    }
+
+    @SneakyThrows
+    @Test
+    void testOptimalContainerOfNonExistentType() {
+        String targetsJson = objectMapper.writeValueAsString(new ContainerMacroTargetsDTO("XXL", 40.0, null, null));
+        assertThrows(NotFound.class, () -> containerOptimizationService.findOptimalContainer(targetsJson));
+        verify(containerService, never()).calculateContainerParams(any());
+    }
+
+    @SneakyThrows
+    @Test
+    void testOptimalContainerWithoutTargets() {
+        String targetsJson = objectMapper.writeValueAsString(new ContainerMacroTargetsDTO("M", null, null, null));
+        assertThrows(BadRequest.class, () -> containerOptimizationService.findOptimalContainer(targetsJson));
+        verify(containerService, never()).calculateContainerParams(any());
+    }
+
+    @SneakyThrows
+    @Test
+    void testOptimalContainerWithNegativeTarget() {
+        String targetsJson = objectMapper.writeValueAsString(new ContainerMacroTargetsDTO("M", 40.0, -1.0, null));
+        assertThrows(BadRequest.class, () -> containerOptimizationService.findOptimalContainer(targetsJson));
+        verify(containerService, never()).calculateContainerParams(any());
+    }
+
+    private void createCatalog(int numberOfDishesPerType) {
+        dishesByType.clear();
+        Random random = new Random(7);
+        List<Dish> dishes = new ArrayList<>();
+        long id = 1;
+        for (DishType dishType : DishType.values()) {
+            List<Dish> dishesOfType = new ArrayList<>();
+            for (int i = 0; i < numberOfDishesPerType; i++) {
+                DishInformation dishInformation = new DishInformation();
+                dishInformation.setProteins(random.nextInt(30));
+                dishInformation.setFats(random.nextInt(30));
+                dishInformation.setCarbohydrates(random.nextInt(60));
+                dishInformation.setCaloricContent(4 * dishInformation.getProteins() + 9 * dishInformation.getFats() + 4 * dishInformation.getCarbohydrates() + 10);
+                dishesOfType.add(createDish(id++, dishType, dishInformation));
+            }
+            dishes.addAll(dishesOfType);
+            dishes.add(createDish(id++, dishType, null));
+            dishesByType.add(dishesOfType);
+        }
+        ContainerType containerType = new ContainerType();
+        containerType.setCaloricContent(containerCaloricContent);
+        containerType.setName("M");
+        containerType.setPrice(12);
+        when(menuCatalogService.getSnapshot()).thenReturn(MenuCatalogSnapshot.of(1, dishes, List.of(containerType)));
+    }
+
+    private ContainerComponentsDTO findByExhaustiveSearch(ContainerMacroTargetsDTO targets) {
+        ContainerComponentsDTO bestContainer = null;
+        double bestError = Double.MAX_VALUE;
+        for (Dish meat : dishesByType.get(0)) {
+            for (Dish garnish : dishesByType.get(1)) {
+                for (Dish salad : dishesByType.get(2)) {
+                    for (Dish sauce : dishesByType.get(3)) {
+                        List<DishInformation> container = List.of(meat.getDishInformation(), garnish.getDishInformation(),
+                                salad.getDishInformation(), sauce.getDishInformation());
+                        double totalWeight = 100 * containerCaloricContent / sum(container, DishInformation::getCaloricContent);
+                        double proteinsError = 0.01 * totalWeight * sum(container, DishInformation::getProteins) / targets.getProteins() - 1;
+                        double carbohydratesError = 0.01 * totalWeight * sum(container, DishInformation::getCarbohydrates) / targets.getCarbohydrates() - 1;
+                        double error = proteinsError * proteinsError + carbohydratesError * carbohydratesError;
+                        if (error < bestError) {
+                            bestError = error;
+                            bestContainer = new ContainerComponentsDTO("M", meat.getId(), garnish.getId(), salad.getId(), sauce.getId());
+                        }
+                    }
+                }
+            }
+        }
+        return bestContainer;
+    }
+
+    private double sum(List<DishInformation> container, ToDoubleFunction<DishInformation> nutrient) {
+        double total = 0;
+        for (int i = 0; i < container.size(); i++) {
+            total += percentagesByTotalWeight[i] * nutrient.applyAsDouble(container.get(i));
+        }
+        return total;
+    }
+
+    private Dish createDish(long id, DishType type, DishInformation dishInformation) {
+        Dish dish = new Dish();
+        dish.setId(id);
+        dish.setType(type);
+        dish.setName(type.name().toLowerCase() + id);
+        dish.setDishInformation(dishInformation);
+        return dish;
+    }
+}
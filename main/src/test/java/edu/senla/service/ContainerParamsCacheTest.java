@@ -0,0 +1,52 @@
+package edu.senla.service;
+
+import edu.senla.model.dto.ContainerComponentsDTO;
+import edu.senla.model.dto.ContainerComponentsParamsDTO;
+import edu.senla.service.impl.ContainerParamsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContainerParamsCacheTest {
+
+    private final ContainerParamsCache containerParamsCache = new ContainerParamsCache();
+    private final ContainerParamsCache.Key key = ContainerParamsCache.Key.of(new ContainerComponentsDTO("M", 1, 2, 3, 4));
+    private final ContainerComponentsParamsDTO containerComponentsParams = new ContainerComponentsParamsDTO();
+
+    @BeforeEach
+    void configureCache() {
+        ReflectionTestUtils.setField(containerParamsCache, "maxSize", 2);
+    }
+
+    @Test
+    void testResultIsServedForSameComposition() {
+        containerParamsCache.put(key, 1, containerComponentsParams);
+        assertSame(containerComponentsParams, containerParamsCache.get(ContainerParamsCache.Key.of(new ContainerComponentsDTO("M", 1, 2, 3, 4)), 1));
+        assertNull(containerParamsCache.get(ContainerParamsCache.Key.of(new ContainerComponentsDTO("M", 1, 2, 4, 3)), 1));
+    }
+
+    @Test
+    void testNewCatalogVersionDropsResults() {
+        containerParamsCache.put(key, 1, containerComponentsParams);
+        assertNull(containerParamsCache.get(key, 2));
+        assertEquals(0, containerParamsCache.size());
+    }
+
+    @Test
+    void testResultOfOutdatedCatalogIsNotStored() {
+        assertNull(containerParamsCache.get(key, 2));
+        containerParamsCache.put(key, 1, containerComponentsParams);
+        assertNull(containerParamsCache.get(key, 2));
+        assertNull(containerParamsCache.get(key, 1));
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        for (int i = 0; i < 5; i++) {
+            containerParamsCache.put(ContainerParamsCache.Key.of(new ContainerComponentsDTO("M", i, 2, 3, 4)), 1, containerComponentsParams);
+        }
+        assertTrue(containerParamsCache.size() <= 2);
+    }
+}
@@ -27,6 +27,9 @@ class ContainerTypeServiceTest {
     @Mock
     private TypeOfContainerRepository typeOfContainerRepository;
 
+    @Mock
+    private MenuCatalogService menuCatalogService;
+
     @Spy
     private ModelMapper mapper;
 
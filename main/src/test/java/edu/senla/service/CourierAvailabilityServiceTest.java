@@ -0,0 +1,85 @@
+package edu.senla.service;
+
+import edu.senla.dao.CourierRepository;
+import edu.senla.dao.OrderRepository;
+import edu.senla.model.entity.Courier;
+import edu.senla.model.entity.Order;
+import edu.senla.model.enums.CourierStatus;
+import edu.senla.service.impl.CourierAvailabilityServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourierAvailabilityServiceTest {
+
+    @Mock
+    private CourierRepository courierRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private CourierAvailabilityServiceImpl courierAvailabilityService;
+
+    @Test
+    void testSeededCourierIsCheckedWithoutQueries() {
+        Courier courier = new Courier();
+        courier.setId(1);
+        courier.setStatus(CourierStatus.ACTIVE);
+        Order order = new Order();
+        order.setId(7);
+        order.setCourier(courier);
+        when(courierRepository.findAll()).thenReturn(List.of(courier));
+        when(orderRepository.getAllByStatusIn(any())).thenReturn(List.of(order));
+        courierAvailabilityService.seedAvailability();
+        assertTrue(courierAvailabilityService.isCourierActive(1));
+        assertTrue(courierAvailabilityService.isCourierOccupied(1));
+        verify(courierRepository, never()).findById(anyLong());
+        verify(orderRepository, never()).findFirstByCourierIdAndStatusIn(anyLong(), any());
+    }
+
+    @Test
+    void testUnknownCourierIsLoadedOnce() {
+        Courier courier = new Courier();
+        courier.setId(2);
+        courier.setStatus(CourierStatus.INACTIVE);
+        when(courierRepository.findById(2L)).thenReturn(Optional.of(courier));
+        assertFalse(courierAvailabilityService.isCourierActive(2));
+        assertFalse(courierAvailabilityService.isCourierOccupied(2));
+        verify(courierRepository, times(1)).findById(2L);
+        verify(orderRepository, times(1)).findFirstByCourierIdAndStatusIn(anyLong(), any());
+    }
+
+    @Test
+    void testAvailabilityFollowsCommittedChanges() {
+        Courier courier = new Courier();
+        courier.setId(3);
+        courier.setStatus(CourierStatus.INACTIVE);
+        when(courierRepository.findAll()).thenReturn(List.of(courier));
+        courierAvailabilityService.seedAvailability();
+        courierAvailabilityService.updateCourierStatus(3, CourierStatus.ACTIVE);
+        courierAvailabilityService.assignOrderToCourier(3, 11);
+        assertTrue(courierAvailabilityService.isCourierActive(3));
+        assertTrue(courierAvailabilityService.isCourierOccupied(3));
+        courierAvailabilityService.releaseCourier(3);
+        assertFalse(courierAvailabilityService.isCourierOccupied(3));
+    }
+
+    @Test
+    void testNonExistentCourier() {
+        when(courierRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        assertFalse(courierAvailabilityService.isCourierActive(4));
+        assertFalse(courierAvailabilityService.isCourierOccupied(4));
+    }
+}
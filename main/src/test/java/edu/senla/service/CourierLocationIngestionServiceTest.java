@@ -0,0 +1,127 @@
+package edu.senla.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.senla.dao.CourierLocationHistoryRepository;
+import edu.senla.exeption.BadRequest;
+import edu.senla.exeption.ServiceUnavailable;
+import edu.senla.service.impl.CourierLocationIngestionServiceImpl;
+import edu.senla.service.impl.ValidationServiceImpl;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CourierLocationIngestionServiceTest {
+
+    private static final String locationJson = "{\"latitude\": 53.9, \"longitude\": 27.56}";
+
+    @Mock
+    private CourierLocationService courierLocationService;
+
+    @Mock
+    private CourierAvailabilityService courierAvailabilityService;
+
+    @Mock
+    private DeliveryZoneService deliveryZoneService;
+
+    @Mock
+    private CourierLocationHistoryRepository courierLocationHistoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private CourierLocationIngestionServiceImpl courierLocationIngestionService;
+
+    @BeforeEach
+    void configureIngestion() {
+        courierLocationIngestionService.setObjectMapper(new ObjectMapper());
+        courierLocationIngestionService.setValidationService(new ValidationServiceImpl());
+        ReflectionTestUtils.setField(courierLocationIngestionService, "batchSize", 500);
+        ReflectionTestUtils.setField(courierLocationIngestionService, "flushInterval", 50L);
+        when(courierAvailabilityService.isCourierActive(anyLong())).thenReturn(true);
+    }
+
+    @AfterEach
+    @SneakyThrows
+    void stopIngestion() {
+        courierLocationIngestionService.stopLocationWriter();
+    }
+
+    @Test
+    @SneakyThrows
+    void testLocationsAreWrittenInBatches() {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            batchSizes.add(invocation.<List<?>>getArgument(0).size());
+            return new int[0];
+        }).when(courierLocationHistoryRepository).saveLocations(anyList());
+        ReflectionTestUtils.setField(courierLocationIngestionService, "bufferCapacity", 10_000);
+        courierLocationIngestionService.startLocationWriter();
+        for (int i = 0; i < 5000; i++) {
+            courierLocationIngestionService.acceptLocation(i % 100, locationJson);
+        }
+        courierLocationIngestionService.stopLocationWriter();
+        verify(courierLocationService, times(5000)).updateCourierLocation(anyLong(), eq(53.9), eq(27.56));
+        assertEquals(5000, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.size() < 5000);
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 500));
+        assertEquals(0, courierLocationIngestionService.getNumberOfBufferedLocations());
+    }
+
+    @Test
+    @SneakyThrows
+    void testLatestLocationsAreWrittenWithTheirZones() {
+        List<Integer> writtenZones = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            writtenZones.addAll(invocation.getArgument(1));
+            return new int[0];
+        }).when(courierLocationHistoryRepository).updateLatestCourierLocations(anyList(), anyList());
+        when(deliveryZoneService.getLocationZone(53.9, 27.56)).thenReturn(3);
+        ReflectionTestUtils.setField(courierLocationIngestionService, "bufferCapacity", 100);
+        courierLocationIngestionService.startLocationWriter();
+        for (int i = 0; i < 10; i++) {
+            courierLocationIngestionService.acceptLocation(i, locationJson);
+        }
+        courierLocationIngestionService.stopLocationWriter();
+        assertEquals(Collections.nCopies(10, 3), writtenZones);
+    }
+
+    @Test
+    @SneakyThrows
+    void testFullBufferRejectsLocations() {
+        ReflectionTestUtils.setField(courierLocationIngestionService, "bufferCapacity", 2);
+        courierLocationIngestionService.startLocationWriter();
+        courierLocationIngestionService.stopLocationWriter();
+        courierLocationIngestionService.acceptLocation(1, locationJson);
+        courierLocationIngestionService.acceptLocation(1, locationJson);
+        assertThrows(ServiceUnavailable.class, () -> courierLocationIngestionService.acceptLocation(1, locationJson));
+        verify(courierLocationService, times(2)).updateCourierLocation(anyLong(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void testInvalidCoordinatesAreRejected() {
+        ReflectionTestUtils.setField(courierLocationIngestionService, "bufferCapacity", 2);
+        courierLocationIngestionService.startLocationWriter();
+        assertThrows(BadRequest.class, () -> courierLocationIngestionService.acceptLocation(1, "{\"latitude\": 95, \"longitude\": 27}"));
+        verify(courierLocationHistoryRepository, never()).saveLocations(any(List.class));
+    }
+}
@@ -0,0 +1,113 @@
+package edu.senla.service;
+
+import edu.senla.dao.CourierRepository;
+import edu.senla.model.dto.CourierLocationDTO;
+import edu.senla.service.impl.CourierLocationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourierLocationServiceTest {
+
+    private static final int numberOfCouriers = 10_000;
+
+    @Mock
+    private CourierRepository courierRepository;
+
+    @InjectMocks
+    private CourierLocationServiceImpl courierLocationService;
+
+    @BeforeEach
+    void configureGrid() {
+        ReflectionTestUtils.setField(courierLocationService, "cellSize", 0.01);
+        ReflectionTestUtils.setField(courierLocationService, "maxSearchRadius", 64);
+    }
+
+    @Test
+    void testNearestCourierMatchesFullScan() {
+        Random random = new Random(42);
+        double[][] locations = placeCouriers(random);
+        for (int i = 0; i < 1000; i++) {
+            double latitude = 53.8 + random.nextDouble() * 0.2;
+            double longitude = 27.4 + random.nextDouble() * 0.3;
+            Long nearestCourierId = courierLocationService.findNearestCourier(latitude, longitude, id -> id % 3 != 0);
+            assertEquals(findNearestByFullScan(locations, latitude, longitude), nearestCourierId);
+        }
+    }
+
+    @Test
+    void testMovedAndRemovedCouriersAreNotFoundAtOldLocation() {
+        courierLocationService.updateCourierLocation(1, 53.9, 27.5);
+        courierLocationService.updateCourierLocation(2, 53.95, 27.6);
+        courierLocationService.updateCourierLocation(1, 54.5, 28.5);
+        assertEquals(2L, courierLocationService.findNearestCourier(53.9, 27.5, id -> true));
+        courierLocationService.removeCourier(2);
+        assertEquals(1L, courierLocationService.findNearestCourier(53.9, 27.5, id -> true));
+        assertNull(courierLocationService.findNearestCourier(53.9, 27.5, id -> id != 1));
+        assertEquals(new CourierLocationDTO(54.5, 28.5), courierLocationService.getCourierLocation(1));
+    }
+
+    @Test
+    void testCouriersBeyondSearchRadiusAreFoundByFullScan() {
+        ReflectionTestUtils.setField(courierLocationService, "maxSearchRadius", 2);
+        courierLocationService.updateCourierLocation(1, 53.9, 27.5);
+        courierLocationService.updateCourierLocation(2, 53.5, 27.0);
+        courierLocationService.updateCourierLocation(3, 53.905, 27.505);
+        assertEquals(3L, courierLocationService.findNearestCourier(53.91, 27.51, id -> true));
+        assertEquals(2L, courierLocationService.findNearestCourier(53.4, 26.9, id -> true));
+        assertEquals(1L, courierLocationService.findNearestCourier(53.4, 26.9, id -> id != 2));
+        assertNull(courierLocationService.findNearestCourier(53.4, 26.9, id -> id > 3));
+    }
+
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @Test
+    void benchmarkNearestCourierSearch() {
+        Random random = new Random(7);
+        placeCouriers(random);
+        int numberOfSearches = 100_000;
+        long checksum = 0;
+        for (int i = 0; i < 10_000; i++) {
+            checksum += courierLocationService.findNearestCourier(53.8 + random.nextDouble() * 0.2, 27.4 + random.nextDouble() * 0.3, id -> true);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < numberOfSearches; i++) {
+            checksum += courierLocationService.findNearestCourier(53.8 + random.nextDouble() * 0.2, 27.4 + random.nextDouble() * 0.3, id -> id % 2 == 0);
+        }
+        double averageMicros = (System.nanoTime() - start) / 1000.0 / numberOfSearches;
+        System.out.printf("Nearest courier among %d couriers: %.2f us per search (checksum %d)%n", numberOfCouriers, averageMicros, checksum);
+        assertTrue(averageMicros < 1000);
+    }
+
+    private double[][] placeCouriers(Random random) {
+        double[][] locations = new double[numberOfCouriers][];
+        for (int id = 0; id < numberOfCouriers; id++) {
+            locations[id] = new double[]{53.8 + random.nextDouble() * 0.2, 27.4 + random.nextDouble() * 0.3};
+            courierLocationService.updateCourierLocation(id, locations[id][0], locations[id][1]);
+        }
+        return locations;
+    }
+
+    private Long findNearestByFullScan(double[][] locations, double latitude, double longitude) {
+        Long nearestCourierId = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (int id = 0; id < locations.length; id++) {
+            if (id % 3 == 0) continue;
+            double distance = courierLocationService.calculateDistance(latitude, longitude, locations[id][0], locations[id][1]);
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearestCourierId = (long) id;
+            }
+        }
+        return nearestCourierId;
+    }
+}
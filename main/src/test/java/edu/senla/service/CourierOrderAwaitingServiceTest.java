@@ -0,0 +1,130 @@
+package edu.senla.service;
+
+import edu.senla.dao.OrderRepository;
+import edu.senla.exeption.NotFound;
+import edu.senla.model.dto.CourierCurrentOrderInfoDTO;
+import edu.senla.model.event.OrderAssignedEvent;
+import edu.senla.service.impl.CourierOrderAwaitingServiceImpl;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CourierOrderAwaitingServiceTest {
+
+    private static final long courierId = 1;
+
+    @Mock
+    private CourierService courierService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private CourierOrderAwaitingServiceImpl courierOrderAwaitingService;
+
+    @BeforeEach
+    void startAwaiting() {
+        ReflectionTestUtils.setField(courierOrderAwaitingService, "awaitingTimeout", 30000L);
+        ReflectionTestUtils.setField(courierOrderAwaitingService, "numberOfThreads", 2);
+        courierOrderAwaitingService.startAwaitingExecutor();
+    }
+
+    @AfterEach
+    void stopAwaiting() {
+        courierOrderAwaitingService.stopAwaitingExecutor();
+    }
+
+    @Test
+    void testAwaitingCourierIsCompletedWhenOrderIsAssigned() {
+        CourierCurrentOrderInfoDTO currentOrder = new CourierCurrentOrderInfoDTO();
+        currentOrder.setAddress("Nezavisimosti 1");
+        doThrow(new NotFound("No new orders")).when(courierService).assignNewOrdersToCourier(courierId);
+        when(courierService.getCurrentOrderForCourier(courierId)).thenReturn(currentOrder);
+
+        DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> result = courierOrderAwaitingService.awaitNewOrder(courierId);
+        assertFalse(result.hasResult());
+        assertEquals(1, courierOrderAwaitingService.getNumberOfAwaitingCouriers());
+
+        courierOrderAwaitingService.completeOnOrderAssigned(new OrderAssignedEvent(courierId, 10, LocalDateTime.now()));
+        ResponseEntity<?> response = awaitResult(result);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(currentOrder, response.getBody());
+        assertEquals(0, courierOrderAwaitingService.getNumberOfAwaitingCouriers());
+    }
+
+    @SneakyThrows
+    @Test
+    void testAwaitingCourierGetsNoContentOnTimeout() {
+        doThrow(new NotFound("No new orders")).when(courierService).assignNewOrdersToCourier(courierId);
+
+        DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> result = courierOrderAwaitingService.awaitNewOrder(courierId);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+        asyncManager.startDeferredResultProcessing(result);
+
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        asyncContext.complete();
+
+        ResponseEntity<?> response = (ResponseEntity<?>) asyncManager.getConcurrentResult();
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertEquals(0, courierOrderAwaitingService.getNumberOfAwaitingCouriers());
+        verify(courierService, never()).getCurrentOrderForCourier(courierId);
+    }
+
+    @Test
+    void testSecondAwaitingFromSameCourierReplacesFirst() {
+        CourierCurrentOrderInfoDTO currentOrder = new CourierCurrentOrderInfoDTO();
+        doThrow(new NotFound("No new orders")).when(courierService).assignNewOrdersToCourier(courierId);
+        when(courierService.getCurrentOrderForCourier(courierId)).thenReturn(currentOrder);
+
+        DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> firstResult = courierOrderAwaitingService.awaitNewOrder(courierId);
+        DeferredResult<ResponseEntity<CourierCurrentOrderInfoDTO>> secondResult = courierOrderAwaitingService.awaitNewOrder(courierId);
+        assertTrue(firstResult.hasResult());
+        assertEquals(HttpStatus.NO_CONTENT, ((ResponseEntity<?>) firstResult.getResult()).getStatusCode());
+        assertFalse(secondResult.hasResult());
+        assertEquals(1, courierOrderAwaitingService.getNumberOfAwaitingCouriers());
+
+        courierOrderAwaitingService.completeOnOrderAssigned(new OrderAssignedEvent(courierId, 10, LocalDateTime.now()));
+        assertEquals(HttpStatus.OK, awaitResult(secondResult).getStatusCode());
+        verify(courierService, times(1)).getCurrentOrderForCourier(courierId);
+    }
+
+    @SneakyThrows
+    private ResponseEntity<?> awaitResult(DeferredResult<?> result) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(result.hasResult());
+        return (ResponseEntity<?>) result.getResult();
+    }
+}
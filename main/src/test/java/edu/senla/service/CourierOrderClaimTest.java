@@ -0,0 +1,148 @@
+package edu.senla.service;
+
+import edu.senla.dao.CourierRepository;
+import edu.senla.dao.OrderRepository;
+import edu.senla.dao.UserRepository;
+import edu.senla.exeption.NotFound;
+import edu.senla.model.entity.Courier;
+import edu.senla.model.entity.Order;
+import edu.senla.model.entity.User;
+import edu.senla.model.enums.CourierStatus;
+import edu.senla.model.enums.OrderPaymentType;
+import edu.senla.model.enums.OrderStatus;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.yml")
+@ActiveProfiles("test")
+class CourierOrderClaimTest {
+
+    private static final int numberOfOrders = 10;
+    private static final int numberOfCouriers = 24;
+
+    @Autowired
+    private CourierService courierService;
+
+    @Autowired
+    private CourierRepository courierRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private final List<Courier> couriers = new ArrayList<>();
+    private final List<Order> orders = new ArrayList<>();
+
+    @BeforeEach
+    void createOrdersAndCouriers() {
+        user = new User();
+        user.setFirstName("Client");
+        user.setLastName("Client");
+        user.setPhone("+375290000000");
+        user.setEmail("claim@test.com");
+        user.setUsername("claimTestClient");
+        user.setPassword("password");
+        userRepository.save(user);
+        for (int i = 0; i < numberOfOrders; i++) {
+            Order order = new Order();
+            order.setUser(user);
+            order.setStatus(OrderStatus.NEW);
+            order.setPaymentType(OrderPaymentType.CASH_TO_COURIER);
+            order.setDate(LocalDate.now());
+            order.setTime(LocalTime.now().minusMinutes(numberOfOrders - i));
+            orders.add(orderRepository.save(order));
+        }
+        for (int i = 0; i < numberOfCouriers; i++) {
+            Courier courier = new Courier();
+            courier.setFirstName("Courier");
+            courier.setLastName("Courier");
+            courier.setPhone(String.format("+37533%07d", i));
+            courier.setPassword("password");
+            courier.setStatus(CourierStatus.ACTIVE);
+            couriers.add(courierRepository.save(courier));
+        }
+    }
+
+    @AfterEach
+    void deleteOrdersAndCouriers() {
+        orderRepository.deleteAll(orders);
+        courierRepository.deleteAll(couriers);
+        userRepository.delete(user);
+    }
+
+    @SneakyThrows
+    @Test
+    void testEachOrderIsClaimedExactlyOnce() {
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfCouriers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> claims = couriers.stream()
+                .map(c -> executor.submit(() -> claimOrder(c.getId(), start)))
+                .toList();
+        start.countDown();
+        long successfulClaims = 0;
+        for (Future<Boolean> claim : claims) {
+            if (claim.get(30, TimeUnit.SECONDS)) successfulClaims++;
+        }
+        executor.shutdown();
+
+        List<Order> claimedOrders = orderRepository.findAllById(orders.stream().map(Order::getId).toList());
+        Set<Long> assignedCouriers = claimedOrders.stream().map(o -> o.getCourier().getId()).collect(Collectors.toSet());
+        assertEquals(numberOfOrders, successfulClaims);
+        assertTrue(claimedOrders.stream().allMatch(o -> o.getStatus().equals(OrderStatus.IN_PROCESS)));
+        assertEquals(numberOfOrders, assignedCouriers.size());
+    }
+
+    @Test
+    void testClaimedOrderIsReadBackWithItsNewStatus() {
+        Courier courier = couriers.get(0);
+        Order claimedOrder = new TransactionTemplate(transactionManager).execute(status -> {
+            long candidateOrderId = orderRepository.getIdsByStatusOrderByDateAndTime(OrderStatus.NEW, PageRequest.of(0, 1)).get(0);
+            Order candidateOrder = orderRepository.findById(candidateOrderId).orElseThrow();
+            orderRepository.updateCourierAndStatusIfStatusIs(courier, candidateOrder.getId(), OrderStatus.NEW, OrderStatus.IN_PROCESS);
+            Order order = orderRepository.getById(candidateOrder.getId());
+            assertEquals(courier.getId(), order.getCourier().getId());
+            return order;
+        });
+        assertEquals(OrderStatus.IN_PROCESS, claimedOrder.getStatus());
+    }
+
+    @SneakyThrows
+    private boolean claimOrder(long courierId, CountDownLatch start) {
+        start.await();
+        while (true) {
+            try {
+                courierService.assignNewOrdersToCourier(courierId);
+                return true;
+            } catch (NotFound exception) {
+                return false;
+            } catch (ConcurrencyFailureException exception) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package edu.senla.service;
 
 import edu.senla.dao.UserRepository;
 import edu.senla.dao.ContainerRepository;
+import edu.senla.dao.CourierPerformanceRepository;
 import edu.senla.dao.CourierRepository;
 import edu.senla.dao.OrderRepository;
 import edu.senla.exeption.BadRequest;
@@ -10,10 +11,14 @@ import edu.senla.exeption.NotFound;
 import edu.senla.model.dto.*;
 import edu.senla.model.entity.User;
 import edu.senla.model.entity.Courier;
+import edu.senla.model.entity.CourierPerformance;
 import edu.senla.model.entity.Order;
 import edu.senla.model.enums.CourierStatus;
 import edu.senla.model.enums.OrderPaymentType;
 import edu.senla.model.enums.OrderStatus;
+import edu.senla.model.event.OrderAssignedEvent;
+import edu.senla.security.PrincipalCache;
+import edu.senla.security.TokenVersionRegistry;
 import edu.senla.service.impl.ContainerServiceImpl;
 import edu.senla.service.impl.CourierServiceImpl;
 import edu.senla.service.impl.ValidationServiceImpl;
@@ -24,16 +29,22 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,14 +65,32 @@ class CourierServiceTest {
     @Mock
     private ContainerServiceImpl containerService;
 
+    @Mock
+    private CourierPerformanceRepository courierPerformanceRepository;
+
+    @Mock
+    private CourierAvailabilityService courierAvailabilityService;
+
+    @Mock
+    private CourierLocationService courierLocationService;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @Spy
     private ModelMapper modelMapper;
 
     @Spy
     private ValidationServiceImpl validationService;
 
-    @Spy
-    private PasswordEncoder passwordEncoder;
+    @Mock
+    private PasswordHashingService passwordHashingService;
 
     @InjectMocks
     private CourierServiceImpl courierService;
@@ -99,7 +128,7 @@ class CourierServiceTest {
         verify(validationService, never()).isNameLengthValid(any());
         verify(validationService, never()).isPhoneCorrect(any());
         verify(courierRepository, never()).getByPhone(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(courierRepository, never()).save(any());
     }
 
@@ -112,7 +141,7 @@ class CourierServiceTest {
         verify(validationService, times(1)).isNameLengthValid(any());
         verify(validationService, never()).isPhoneCorrect(any());
         verify(courierRepository, never()).getByPhone(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(courierRepository, never()).save(any());
     }
 
@@ -126,7 +155,7 @@ class CourierServiceTest {
         verify(validationService, times(1)).isNameLengthValid(any());
         verify(validationService, never()).isPhoneCorrect(any());
         verify(courierRepository, never()).getByPhone(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(courierRepository, never()).save(any());
     }
 
@@ -140,7 +169,7 @@ class CourierServiceTest {
         verify(validationService, times(2)).isNameLengthValid(any());
         verify(validationService, never()).isPhoneCorrect(any());
         verify(courierRepository, never()).getByPhone(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(courierRepository, never()).save(any());
     }
 
@@ -156,7 +185,7 @@ class CourierServiceTest {
         verify(validationService, times(2)).isNameLengthValid(any());
         verify(courierRepository,times(1)).getByPhone(any());
         verify(validationService, never()).isPhoneCorrect(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(courierRepository, never()).save(any());
     }
 
@@ -171,7 +200,7 @@ class CourierServiceTest {
         verify(validationService, times(2)).isNameLengthValid(any());
         verify(courierRepository, times(1)).getByPhone(any());
         verify(validationService,times(1)).isPhoneCorrect(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(courierRepository, never()).save(any());
     }
 
@@ -188,7 +217,7 @@ class CourierServiceTest {
         verify(validationService, times(2)).isNameLengthValid(any());
         verify(courierRepository, times(1)).getByPhone(any());
         verify(validationService,times(1)).isPhoneCorrect(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(courierRepository, never()).save(any());
     }
 
@@ -205,7 +234,7 @@ class CourierServiceTest {
         verify(validationService, times(2)).isNameLengthValid(any());
         verify(courierRepository, times(1)).getByPhone(any());
         verify(validationService, times(1)).isPhoneCorrect(any());
-        verify(passwordEncoder, times(1)).encode(any());
+        verify(passwordHashingService, times(1)).encode(any());
         verify(courierRepository, times(1)).save(any());
     }
 
@@ -248,11 +277,13 @@ class CourierServiceTest {
         Courier courier = new Courier();
         courier.setFirstName("Some name");
         courier.setPassword("somePassword");
+        when(courierRepository.getPasswordByPhone(any(String.class))).thenReturn(courier.getPassword());
         when(courierRepository.getByPhone(any(String.class))).thenReturn(courier);
-        when(passwordEncoder.matches(any(String.class), any(String.class))).thenReturn(true);
+        when(passwordHashingService.matches(any(String.class), any(String.class))).thenReturn(true);
         CourierFullInfoDTO courierFullInfoDTO = courierService.getCourierByPhoneAndPassword(new String());
+        verify(courierRepository, times(1)).getPasswordByPhone(any());
         verify(courierRepository, times(1)).getByPhone(any());
-        verify(passwordEncoder, times(1)).matches(any(), any());
+        verify(passwordHashingService, times(1)).matches(any(), any());
         assertEquals(courier.getFirstName(), courierFullInfoDTO.getFirstName());
         assertEquals(courier.getPassword(), courierFullInfoDTO.getPassword());
     }
@@ -416,20 +447,20 @@ class CourierServiceTest {
         correctOrder.setUser(user);
         correctOrder.setPaymentType(OrderPaymentType.BY_CARD_ONLINE);
         correctOrder.setStatus(OrderStatus.COMPLETED_LATE);
+        double totalOderCost = 77.7;
+        correctOrder.setTotalCost(totalOderCost);
         orders.add(correctOrder);
         Order incorrectOrder = new Order();
         incorrectOrder.setStatus(OrderStatus.IN_PROCESS);
         orders.add(incorrectOrder);
-        double totalOderCost = 77.7;
         when(courierRepository.existsById(any(Long.class))).thenReturn(true);
         when(courierRepository.getById(any(Long.class))).thenReturn(courier);
         when(orderRepository.getAllByCourier(any(Courier.class), any(Pageable.class))).thenReturn(orders);
-        when(containerService.calculateTotalOrderCost(any(List.class))).thenReturn(totalOderCost);
         List<CourierOrderInfoDTO> courierOrderInfoDTOSList = courierService.getAllOrdersOfCourier(1);
         verify(courierRepository, times(1)).existsById(any());
         verify(courierRepository, times(1)).getById(any());
         verify(orderRepository, times(1)).getAllByCourier(any(), any());
-        verify(containerService, times(1)).calculateTotalOrderCost(any());
+        verify(containerService, never()).calculateTotalOrderCost(any());
         assertTrue(courierOrderInfoDTOSList.size() == 1);
         assertEquals(correctOrder.getPaymentType().toString().toLowerCase(), courierOrderInfoDTOSList.get(0).getPaymentType());
         assertEquals(totalOderCost, courierOrderInfoDTOSList.get(0).getOrderCost());
@@ -456,4 +487,166 @@ class CourierServiceTest {
         assertTrue(courierOrderInfoDTOSList.isEmpty());
     }
 
+    @Test
+    void testAssignNewOrdersToCourierRetriesWhileOrdersAreContended() {
+        Courier courier = new Courier();
+        courier.setId(1);
+        when(courierRepository.getById(any(Long.class))).thenReturn(courier);
+        when(courierAvailabilityService.isCourierActive(1L)).thenReturn(true);
+        when(orderRepository.getIdsByStatusOrderByDateAndTime(eq(OrderStatus.NEW), any(Pageable.class)))
+                .thenReturn(List.of(5L), List.of(6L), List.of(9L));
+        when(orderRepository.updateCourierAndStatusIfStatusIs(eq(courier), anyLong(), eq(OrderStatus.NEW), eq(OrderStatus.IN_PROCESS)))
+                .thenReturn(0, 0, 1);
+        Order claimedOrder = new Order();
+        claimedOrder.setId(9);
+        claimedOrder.setDate(LocalDate.of(2022, 1, 10));
+        claimedOrder.setTime(LocalTime.of(12, 30));
+        when(orderRepository.getById(9L)).thenReturn(claimedOrder);
+        courierService.assignNewOrdersToCourier(1);
+        verify(orderRepository, times(3)).updateCourierAndStatusIfStatusIs(any(), anyLong(), any(), any());
+        verify(courierAvailabilityService, times(1)).assignOrderToCourier(1L, 9L);
+        verify(applicationEventPublisher, times(1)).publishEvent(new OrderAssignedEvent(1L, 9L, LocalDateTime.of(2022, 1, 10, 12, 30)));
+    }
+
+    @Test
+    void testAssignNewOrdersToCourierGivesUpAfterLosingEveryAttempt() {
+        Courier courier = new Courier();
+        courier.setId(1);
+        when(courierRepository.getById(any(Long.class))).thenReturn(courier);
+        when(courierAvailabilityService.isCourierActive(1L)).thenReturn(true);
+        when(orderRepository.getIdsByStatusOrderByDateAndTime(eq(OrderStatus.NEW), any(Pageable.class)))
+                .thenReturn(List.of(5L), List.of(6L), List.of(7L), List.of(8L));
+        when(orderRepository.updateCourierAndStatusIfStatusIs(eq(courier), anyLong(), eq(OrderStatus.NEW), eq(OrderStatus.IN_PROCESS))).thenReturn(0);
+        assertThrows(NotFound.class, () -> courierService.assignNewOrdersToCourier(1));
+        verify(orderRepository, times(3)).getIdsByStatusOrderByDateAndTime(any(), any());
+        verify(courierAvailabilityService, never()).assignOrderToCourier(anyLong(), anyLong());
+    }
+
+    @Test
+    void testAssignNewOrdersToCourierWhenContendedOrdersRunOut() {
+        Courier courier = new Courier();
+        courier.setId(1);
+        when(courierRepository.getById(any(Long.class))).thenReturn(courier);
+        when(courierAvailabilityService.isCourierActive(1L)).thenReturn(true);
+        when(orderRepository.getIdsByStatusOrderByDateAndTime(eq(OrderStatus.NEW), any(Pageable.class)))
+                .thenReturn(List.of(5L), List.of());
+        when(orderRepository.updateCourierAndStatusIfStatusIs(eq(courier), anyLong(), eq(OrderStatus.NEW), eq(OrderStatus.IN_PROCESS))).thenReturn(0);
+        assertThrows(NotFound.class, () -> courierService.assignNewOrdersToCourier(1));
+        verify(orderRepository, times(2)).getIdsByStatusOrderByDateAndTime(any(), any());
+        verify(courierAvailabilityService, never()).assignOrderToCourier(anyLong(), anyLong());
+    }
+
+    @Test
+    void testAssignOrdersToAllActiveCouriers() {
+        Order firstOrder = new Order();
+        firstOrder.setId(10);
+        firstOrder.setDate(LocalDate.of(2022, 1, 10));
+        firstOrder.setTime(LocalTime.of(12, 30));
+        Order secondOrder = new Order();
+        secondOrder.setId(11);
+        secondOrder.setDate(LocalDate.of(2022, 1, 10));
+        secondOrder.setTime(LocalTime.of(12, 35));
+        when(courierRepository.getIdsByStatus(CourierStatus.ACTIVE)).thenReturn(List.of(1L, 2L, 3L));
+        when(courierAvailabilityService.isCourierOccupied(any(Long.class))).thenAnswer(invocation -> invocation.getArgument(0).equals(3L));
+        when(orderRepository.getByStatusOrderByDateAndTime(eq(OrderStatus.NEW), any(Pageable.class))).thenReturn(List.of(firstOrder, secondOrder));
+        when(orderRepository.assignCouriersToNewOrders(any(), any(), any())).thenReturn(new int[]{1, 0});
+        when(orderRepository.countByStatus(OrderStatus.NEW)).thenReturn(1L);
+        OrdersAssignmentResultDTO result = courierService.assignOrdersToAllActiveCouriers();
+        verify(orderRepository, times(1)).assignCouriersToNewOrders(eq(List.of(10L, 11L)), eq(List.of(1L, 2L)), any());
+        verify(courierAvailabilityService, times(1)).assignOrderToCourier(1L, 10L);
+        verify(courierAvailabilityService, never()).assignOrderToCourier(2L, 11L);
+        verify(applicationEventPublisher, times(1)).publishEvent(any(OrderAssignedEvent.class));
+        verify(applicationEventPublisher, times(1)).publishEvent(new OrderAssignedEvent(1L, 10L, LocalDateTime.of(2022, 1, 10, 12, 30)));
+        assertEquals(1, result.getNumberOfAssignedOrders());
+        assertEquals(1, result.getNumberOfPendingOrders());
+        assertEquals(1, result.getNumberOfFreeCouriers());
+    }
+
+    @Test
+    void testAssignOrdersToAllActiveCouriersWhenThereAreNoActiveCouriers() {
+        when(courierRepository.getIdsByStatus(CourierStatus.ACTIVE)).thenReturn(List.of());
+        assertThrows(NotFound.class, () -> courierService.assignOrdersToAllActiveCouriers());
+        verify(orderRepository, never()).assignCouriersToNewOrders(any(), any(), any());
+    }
+
+    @Test
+    void testAssignOrdersToActiveCouriersInZone() {
+        Order order = new Order();
+        order.setId(10);
+        order.setZone(3);
+        order.setDate(LocalDate.now());
+        order.setTime(LocalTime.now());
+        when(courierRepository.getIdsByStatusAndZone(CourierStatus.ACTIVE, 3)).thenReturn(List.of(1L));
+        when(courierAvailabilityService.isCourierOccupied(any(Long.class))).thenReturn(false);
+        when(orderRepository.getByStatusAndZoneOrderByDateAndTime(eq(OrderStatus.NEW), eq(3), any(Pageable.class))).thenReturn(List.of(order));
+        when(orderRepository.assignCouriersToNewOrders(any(), any(), any())).thenReturn(new int[]{1});
+        OrdersAssignmentResultDTO result = courierService.assignOrdersToActiveCouriersInZone(3);
+        verify(orderRepository, times(1)).assignCouriersToNewOrders(eq(List.of(10L)), eq(List.of(1L)), any());
+        verify(orderRepository, never()).getByStatusOrderByDateAndTime(any(), any());
+        assertEquals(1, result.getNumberOfAssignedOrders());
+        assertEquals(0, result.getNumberOfFreeCouriers());
+    }
+
+    @Test
+    void testGetCourierPerformanceIndicator() {
+        Courier courier = new Courier();
+        courier.setId(1);
+        CourierPerformance performance = new CourierPerformance(1, 12, 9, 3, 2, LocalDate.now());
+        when(courierRepository.existsById(any(Long.class))).thenReturn(true);
+        when(courierRepository.getById(any(Long.class))).thenReturn(courier);
+        when(courierPerformanceRepository.findById(any(Long.class))).thenReturn(Optional.of(performance));
+        CourierPerformanceIndicatorDTO indicator = courierService.getCourierPerformanceIndicator(1);
+        verify(courierPerformanceRepository, times(1)).findById(any());
+        verify(orderRepository, never()).getAllByCourier(any(), any());
+        verify(containerRepository, never()).findAllByOrderId(any(Long.class));
+        assertEquals(12, indicator.getTotalNumberOfOrdersDelivered());
+        assertEquals(75, indicator.getPercentageOfOrdersDeliveredOnTime());
+        assertEquals(6, indicator.getNumberOfOrdersDeliveredPerDay());
+        assertTrue(indicator.isSpeedOfWorkSatisfactory());
+        assertTrue(indicator.isDailyAmountOfWorkSatisfactory());
+    }
+
+    @Test
+    void testGetCourierPerformanceIndicatorWithNoClosedOrders() {
+        Courier courier = new Courier();
+        when(courierRepository.existsById(any(Long.class))).thenReturn(true);
+        when(courierRepository.getById(any(Long.class))).thenReturn(courier);
+        when(courierPerformanceRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        assertThrows(NotFound.class, () -> courierService.getCourierPerformanceIndicator(1));
+    }
+
+    @Test
+    void testGetCouriersRatingSortedAndPaginated() {
+        List<Object[]> couriersWithPerformance = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            Courier courier = new Courier();
+            courier.setId(i);
+            CourierPerformance performance = i == 2 ? null : new CourierPerformance(i, 4, 3, 1, 2, LocalDate.now());
+            couriersWithPerformance.add(new Object[]{courier, performance});
+        }
+        when(courierPerformanceRepository.getCouriersWithPerformanceAfterByOnTime(eq(Double.MAX_VALUE), eq(0L), any(Pageable.class)))
+                .thenReturn(couriersWithPerformance);
+        when(courierPerformanceRepository.getCouriersWithPerformanceAfterByPerDay(eq(2.0), eq(1L), any(Pageable.class)))
+                .thenReturn(couriersWithPerformance.subList(1, 2));
+        List<CourierRatingDTO> firstPage = courierService.getCouriersRating("on_time", null, null, 2);
+        List<CourierRatingDTO> secondPage = courierService.getCouriersRating("per_day", 2.0, 1L, 2);
+        assertEquals(List.of(1L, 2L), firstPage.stream().map(CourierRatingDTO::getCourierId).toList());
+        assertEquals(75, firstPage.get(0).getPerformanceIndicator().getPercentageOfOrdersDeliveredOnTime());
+        assertEquals(List.of(2L), secondPage.stream().map(CourierRatingDTO::getCourierId).toList());
+        assertEquals(0, secondPage.get(0).getPerformanceIndicator().getTotalNumberOfOrdersDelivered());
+    }
+
+    @Test
+    void testGetCouriersRatingWithIncompleteCursor() {
+        assertThrows(BadRequest.class, () -> courierService.getCouriersRating("delivered", null, 1L, 10));
+        assertThrows(BadRequest.class, () -> courierService.getCouriersRating("delivered", 5.0, null, 10));
+        verifyNoInteractions(courierPerformanceRepository);
+    }
+
+    @Test
+    void testGetCouriersRatingWithInvalidSortType() {
+        assertThrows(BadRequest.class, () -> courierService.getCouriersRating("salary", null, null, 10));
+        verifyNoInteractions(courierPerformanceRepository);
+    }
+
 }
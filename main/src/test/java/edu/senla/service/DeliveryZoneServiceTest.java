@@ -0,0 +1,81 @@
+package edu.senla.service;
+
+import edu.senla.dao.CourierRepository;
+import edu.senla.dao.OrderRepository;
+import edu.senla.service.impl.DeliveryZoneServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryZoneServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CourierRepository courierRepository;
+
+    @InjectMocks
+    private DeliveryZoneServiceImpl deliveryZoneService;
+
+    @BeforeEach
+    void configureZones() {
+        ReflectionTestUtils.setField(deliveryZoneService, "numberOfZones", 8);
+        ReflectionTestUtils.setField(deliveryZoneService, "cellSize", 0.05);
+        ReflectionTestUtils.setField(deliveryZoneService, "minLatitude", 53.80);
+        ReflectionTestUtils.setField(deliveryZoneService, "maxLatitude", 54.00);
+        ReflectionTestUtils.setField(deliveryZoneService, "minLongitude", 27.40);
+        ReflectionTestUtils.setField(deliveryZoneService, "maxLongitude", 27.75);
+    }
+
+    @Test
+    void testCourierAndOrderInSameCellShareZone() {
+        int orderZone = deliveryZoneService.getOrderZone(53.9034, 27.5637);
+        assertEquals(orderZone, deliveryZoneService.getLocationZone(53.9012, 27.5611));
+    }
+
+    @Test
+    void testZonesAreContiguousRectangles() {
+        List<Integer> zonesAlongLongitude = new ArrayList<>();
+        for (double longitude = 27.401; longitude < 27.75; longitude += 0.01) {
+            zonesAlongLongitude.add(deliveryZoneService.getOrderZone(53.81, longitude));
+        }
+        assertEquals(List.of(0, 1, 2, 3), zonesAlongLongitude.stream().distinct().toList());
+        assertEquals(zonesAlongLongitude.stream().sorted().toList(), zonesAlongLongitude);
+        assertEquals(deliveryZoneService.getOrderZone(53.81, 27.56), deliveryZoneService.getOrderZone(53.89, 27.56));
+        assertEquals(deliveryZoneService.getOrderZone(53.81, 27.56) + 4, deliveryZoneService.getOrderZone(53.99, 27.56));
+    }
+
+    @Test
+    void testUnlocatedOrdersGetFallbackZone() {
+        assertEquals(0, deliveryZoneService.getOrderZone(null, null));
+        assertEquals(0, deliveryZoneService.getOrderZone(53.9, null));
+    }
+
+    @Test
+    void testCouriersOutsideZonesAreRezoned() {
+        when(courierRepository.resetZoneIfZoneIsNotLessThan(8)).thenReturn(2);
+        assertEquals(2, deliveryZoneService.rezoneCouriersOutsideZones());
+    }
+
+    @Test
+    void testZonesStayWithinConfiguredCount() {
+        for (int i = 0; i < 1000; i++) {
+            int zone = deliveryZoneService.getOrderZone(-90 + i * 0.18, -180 + i * 0.36);
+            assertTrue(zone >= 0 && zone < 8);
+        }
+        assertEquals(0, deliveryZoneService.getOrderZone(50.0, 20.0));
+        assertEquals(7, deliveryZoneService.getOrderZone(60.0, 30.0));
+    }
+}
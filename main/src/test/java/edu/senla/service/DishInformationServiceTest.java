@@ -35,6 +35,9 @@ class DishInformationServiceTest {
     @Mock
     private DishRepository dishRepository;
 
+    @Mock
+    private MenuCatalogService menuCatalogService;
+
     @Spy
     private ModelMapper mapper;
 
@@ -36,6 +36,9 @@ class DishServiceTest {
     @Mock
     private DishRepository dishRepository;
 
+    @Mock
+    private MenuCatalogService menuCatalogService;
+
     @Spy
     private ModelMapper mapper;
 
@@ -0,0 +1,150 @@
+package edu.senla.service;
+
+import edu.senla.dao.DishRepository;
+import edu.senla.dao.TypeOfContainerRepository;
+import edu.senla.model.catalog.MenuCatalogSnapshot;
+import edu.senla.model.entity.ContainerType;
+import edu.senla.model.entity.Dish;
+import edu.senla.model.entity.DishInformation;
+import edu.senla.model.enums.DishType;
+import edu.senla.service.impl.MenuCatalogServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuCatalogServiceTest {
+
+    @Mock
+    private DishRepository dishRepository;
+
+    @Mock
+    private TypeOfContainerRepository typeOfContainerRepository;
+
+    @InjectMocks
+    private MenuCatalogServiceImpl menuCatalogService;
+
+    @BeforeEach
+    void createCatalog() {
+        DishInformation meatInformation = new DishInformation();
+        meatInformation.setCaloricContent(250);
+        Dish meat = createDish(5, DishType.MEAT, meatInformation);
+        Dish sauce = createDish(2, DishType.SAUCE, null);
+        ContainerType containerType = new ContainerType();
+        containerType.setCaloricContent(800);
+        containerType.setName("M");
+        containerType.setPrice(12);
+        when(dishRepository.getAllWithDishInformation()).thenReturn(List.of(meat, sauce));
+        when(typeOfContainerRepository.findAll()).thenReturn(List.of(containerType));
+        menuCatalogService.rebuildSnapshot();
+    }
+
+    @Test
+    void testSnapshotContainsCatalog() {
+        MenuCatalogSnapshot snapshot = menuCatalogService.getSnapshot();
+        int meat = snapshot.indexOfDish(5);
+        int sauce = snapshot.indexOfDish(2);
+        assertEquals(DishType.MEAT, snapshot.getDishType(meat));
+        assertEquals(250.0, snapshot.getCaloricContent(meat));
+        assertTrue(snapshot.hasDishInformation(meat));
+        assertFalse(snapshot.hasDishInformation(sauce));
+        assertEquals(12, snapshot.getContainerType("M").price());
+        assertEquals(12, snapshot.getContainerTypeById(800).price());
+        assertTrue(snapshot.indexOfDish(9) < 0);
+    }
+
+    @Test
+    void testCoveredCartNeedsNoQueries() {
+        MenuCatalogSnapshot snapshot = menuCatalogService.getSnapshotCovering(List.of(5L, 2L, 5L), List.of("M", "M"));
+        assertSame(menuCatalogService.getSnapshot(), snapshot);
+        verify(dishRepository, never()).getAllWithDishInformationByIdIn(any());
+        verify(typeOfContainerRepository, never()).getAllByNameIn(any());
+    }
+
+    @Test
+    void testMissingRowsAreLoadedWithOneQueryPerTable() {
+        ContainerType containerType = new ContainerType();
+        containerType.setCaloricContent(1200);
+        containerType.setName("XL");
+        containerType.setPrice(20);
+        when(dishRepository.getAllWithDishInformationByIdIn(List.of(9L, 3L, 10L))).thenReturn(List.of(createDish(9, DishType.SALAD, null), createDish(3, DishType.GARNISH, null)));
+        when(typeOfContainerRepository.getAllByNameIn(List.of("XL", "XXL"))).thenReturn(List.of(containerType));
+        MenuCatalogSnapshot snapshot = menuCatalogService.getSnapshotCovering(List.of(5L, 9L, 3L, 9L, 10L), List.of("M", "XL", "XXL"));
+        verify(dishRepository, times(1)).getAllWithDishInformationByIdIn(any());
+        verify(typeOfContainerRepository, times(1)).getAllByNameIn(any());
+        assertEquals(DishType.GARNISH, snapshot.getDishType(snapshot.indexOfDish(3)));
+        assertEquals(DishType.SALAD, snapshot.getDishType(snapshot.indexOfDish(9)));
+        assertEquals(DishType.MEAT, snapshot.getDishType(snapshot.indexOfDish(5)));
+        assertEquals(20, snapshot.getContainerType("XL").price());
+        assertNull(snapshot.getContainerType("XXL"));
+        assertEquals(4, snapshot.getNumberOfDishes());
+        assertEquals(2, menuCatalogService.getSnapshot().getNumberOfDishes());
+    }
+
+    @Test
+    void testRebuildPublishesNewVersion() {
+        MenuCatalogSnapshot firstSnapshot = menuCatalogService.getSnapshot();
+        when(dishRepository.getAllWithDishInformation()).thenReturn(List.of());
+        menuCatalogService.rebuildSnapshot();
+        MenuCatalogSnapshot secondSnapshot = menuCatalogService.getSnapshot();
+        assertEquals(firstSnapshot.getVersion() + 1, secondSnapshot.getVersion());
+        assertEquals(2, firstSnapshot.getNumberOfDishes());
+        assertEquals(0, secondSnapshot.getNumberOfDishes());
+        assertTrue(firstSnapshot.indexOfDish(2) < firstSnapshot.indexOfDish(5));
+    }
+
+    @Test
+    void testRefreshDishCopiesOnlyThatDish() {
+        MenuCatalogSnapshot firstSnapshot = menuCatalogService.getSnapshot();
+        DishInformation sauceInformation = new DishInformation();
+        sauceInformation.setCaloricContent(120);
+        when(dishRepository.getAllWithDishInformationByIdIn(List.of(2L))).thenReturn(List.of(createDish(2, DishType.SAUCE, sauceInformation)));
+        menuCatalogService.refreshDish(2);
+        MenuCatalogSnapshot secondSnapshot = menuCatalogService.getSnapshot();
+        assertEquals(firstSnapshot.getVersion() + 1, secondSnapshot.getVersion());
+        assertFalse(firstSnapshot.hasDishInformation(firstSnapshot.indexOfDish(2)));
+        assertEquals(120.0, secondSnapshot.getCaloricContent(secondSnapshot.indexOfDish(2)));
+        assertEquals(250.0, secondSnapshot.getCaloricContent(secondSnapshot.indexOfDish(5)));
+        assertEquals(12, secondSnapshot.getContainerType("M").price());
+        verify(dishRepository, times(1)).getAllWithDishInformation();
+    }
+
+    @Test
+    void testRefreshDishAddsAndRemovesDishes() {
+        when(dishRepository.getAllWithDishInformationByIdIn(List.of(3L))).thenReturn(List.of(createDish(3, DishType.GARNISH, null)));
+        when(dishRepository.getAllWithDishInformationByIdIn(List.of(5L))).thenReturn(List.of());
+        menuCatalogService.refreshDish(3);
+        menuCatalogService.refreshDish(5);
+        MenuCatalogSnapshot snapshot = menuCatalogService.getSnapshot();
+        assertEquals(2, snapshot.getNumberOfDishes());
+        assertEquals(DishType.GARNISH, snapshot.getDishType(snapshot.indexOfDish(3)));
+        assertTrue(snapshot.indexOfDish(2) < snapshot.indexOfDish(3));
+        assertTrue(snapshot.indexOfDish(5) < 0);
+    }
+
+    @Test
+    void testSparseDishIdsAreFound() {
+        MenuCatalogSnapshot snapshot = MenuCatalogSnapshot.of(1, List.of(createDish(7_000_000, DishType.MEAT, null), createDish(4, DishType.SALAD, null)), List.of());
+        assertEquals(DishType.MEAT, snapshot.getDishType(snapshot.indexOfDish(7_000_000)));
+        assertEquals(DishType.SALAD, snapshot.getDishType(snapshot.indexOfDish(4)));
+        assertTrue(snapshot.indexOfDish(5) < 0);
+        assertTrue(snapshot.indexOfDish(-1) < 0);
+    }
+
+    private Dish createDish(long id, DishType type, DishInformation dishInformation) {
+        Dish dish = new Dish();
+        dish.setId(id);
+        dish.setType(type);
+        dish.setName(type.name().toLowerCase());
+        dish.setDishInformation(dishInformation);
+        return dish;
+    }
+}
@@ -0,0 +1,89 @@
+package edu.senla.service;
+
+import edu.senla.dao.CourierPerformanceRepository;
+import edu.senla.dao.CourierRepository;
+import edu.senla.dao.OrderRepository;
+import edu.senla.exeption.BadRequest;
+import edu.senla.model.dto.OrderClosingResponseDTO;
+import edu.senla.model.entity.Courier;
+import edu.senla.model.entity.Order;
+import edu.senla.model.enums.OrderStatus;
+import edu.senla.model.event.OrderClosedEvent;
+import edu.senla.service.impl.OrderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @Mock
+    private CourierAvailabilityService courierAvailabilityService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CourierRepository courierRepository;
+
+    @Mock
+    private CourierPerformanceRepository courierPerformanceRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private Courier courier;
+
+    @BeforeEach
+    void configureOrders() {
+        ReflectionTestUtils.setField(orderService, "deliveryTimeStandard", 120);
+        courier = new Courier();
+        courier.setId(1);
+        when(courierRepository.getById(1L)).thenReturn(courier);
+    }
+
+    @Test
+    void testCourierClosingOrderCancelsItsSlaTimers() {
+        Order order = formOrder(7, OrderStatus.RECEIPT_CONFIRMED);
+        when(orderRepository.getAllByCourierAndStatusInOrderByTripSequenceAsc(eq(courier), any())).thenReturn(List.of(order));
+        OrderClosingResponseDTO response = orderService.closeOrderForCourier(1, null);
+        assertTrue(response.isOrderDeliveredOnTime());
+        assertEquals(OrderStatus.COMPLETED_ON_TIME, order.getStatus());
+        verify(applicationEventPublisher, times(1)).publishEvent(new OrderClosedEvent(7));
+        verify(courierAvailabilityService, times(1)).releaseCourier(1L);
+    }
+
+    @Test
+    void testUnconfirmedOrderKeepsItsSlaTimers() {
+        Order order = formOrder(8, OrderStatus.IN_PROCESS);
+        when(orderRepository.getAllByCourierAndStatusInOrderByTripSequenceAsc(eq(courier), any())).thenReturn(List.of(order));
+        assertThrows(BadRequest.class, () -> orderService.closeOrderForCourier(1, 8L));
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    private Order formOrder(long id, OrderStatus status) {
+        Order order = new Order();
+        order.setId(id);
+        order.setStatus(status);
+        order.setCourier(courier);
+        order.setDate(LocalDate.now());
+        order.setTime(LocalTime.now());
+        return order;
+    }
+}
@@ -0,0 +1,83 @@
+package edu.senla.service;
+
+import edu.senla.exeption.ServiceUnavailable;
+import edu.senla.service.impl.PasswordHashingServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    private PasswordHashingServiceImpl passwordHashingService;
+
+    @AfterEach
+    void stopHashingExecutor() {
+        passwordHashingService.stopHashingExecutor();
+    }
+
+    @Test
+    void testEncodedPasswordMatches() {
+        startHashingService(new BCryptPasswordEncoder(4), 1, 4, 5000);
+        String encodedPassword = passwordHashingService.encode("password");
+        assertTrue(passwordHashingService.matches("password", encodedPassword));
+        assertFalse(passwordHashingService.matches("wrongPassword", encodedPassword));
+    }
+
+    @Test
+    void testUpgradeNeededForWeakerHash() {
+        startHashingService(new BCryptPasswordEncoder(6), 1, 4, 5000);
+        assertTrue(passwordHashingService.isUpgradeNeeded(new BCryptPasswordEncoder(4).encode("password")));
+        assertFalse(passwordHashingService.isUpgradeNeeded(passwordHashingService.encode("password")));
+    }
+
+    @Test
+    void testHashingRejectedWhenQueueIsFull() throws Exception {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        CountDownLatch hashingStarted = new CountDownLatch(1);
+        CountDownLatch releaseHashing = new CountDownLatch(1);
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> {
+            hashingStarted.countDown();
+            releaseHashing.await();
+            return "encoded";
+        });
+        startHashingService(passwordEncoder, 1, 1, 5000);
+        CompletableFuture<String> runningHash = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("first"));
+        hashingStarted.await();
+        CompletableFuture<String> queuedHash = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("second"));
+        while (((ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHashingService, "hashingExecutor")).getQueue().isEmpty()) {
+            Thread.onSpinWait();
+        }
+        assertThrows(ServiceUnavailable.class, () -> passwordHashingService.encode("third"));
+        releaseHashing.countDown();
+        assertEquals("encoded", runningHash.get());
+        assertEquals("encoded", queuedHash.get());
+    }
+
+    @Test
+    void testHashingTimesOut() {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.matches(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return true;
+        });
+        startHashingService(passwordEncoder, 1, 1, 50);
+        assertThrows(ServiceUnavailable.class, () -> passwordHashingService.matches("password", "encoded"));
+    }
+
+    private void startHashingService(PasswordEncoder passwordEncoder, int numberOfThreads, int queueCapacity, long timeoutMillis) {
+        passwordHashingService = new PasswordHashingServiceImpl(passwordEncoder);
+        ReflectionTestUtils.setField(passwordHashingService, "numberOfThreads", numberOfThreads);
+        ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(passwordHashingService, "timeoutMillis", timeoutMillis);
+        passwordHashingService.startHashingExecutor();
+    }
+}
@@ -0,0 +1,48 @@
+package edu.senla.service;
+
+import edu.senla.model.entity.Order;
+import edu.senla.model.entity.User;
+import edu.senla.service.impl.TripPlanningServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripPlanningServiceTest {
+
+    private final TripPlanningService tripPlanningService = new TripPlanningServiceImpl();
+
+    @Test
+    void testTripContainsOnlyOrdersFromTheSameStreet() {
+        Order firstOrder = createOrder(1, "Lenina 10");
+        List<Order> candidates = List.of(firstOrder, createOrder(2, "Pushkina 12"), createOrder(3, "lenina, 40"),
+                createOrder(4, "Lenina 14"), createOrder(5, "Lenina 2"));
+        List<Order> tripOrders = tripPlanningService.chooseTripOrders(firstOrder, candidates, 3);
+        assertEquals(List.of(1L, 4L, 5L), tripOrders.stream().map(Order::getId).toList());
+    }
+
+    @Test
+    void testTripStopsStartFromTheFirstOrderAndFollowNearestNeighbour() {
+        Order firstOrder = createOrder(1, "Lenina 10");
+        List<Order> tripOrders = List.of(createOrder(2, "Lenina 30"), firstOrder, createOrder(3, "Lenina 12"), createOrder(4, "Lenina 3"));
+        List<Order> stops = tripPlanningService.orderTripStops(firstOrder, tripOrders);
+        assertEquals(List.of(1L, 3L, 4L, 2L), stops.stream().map(Order::getId).toList());
+    }
+
+    @Test
+    void testOrderWithoutAddressIsNotBatched() {
+        Order firstOrder = createOrder(1, null);
+        List<Order> tripOrders = tripPlanningService.chooseTripOrders(firstOrder, List.of(firstOrder, createOrder(2, "Lenina 1")), 3);
+        assertEquals(List.of(firstOrder), tripOrders);
+    }
+
+    private Order createOrder(long id, String address) {
+        User user = new User();
+        user.setAddress(address);
+        Order order = new Order();
+        order.setId(id);
+        order.setUser(user);
+        return order;
+    }
+}
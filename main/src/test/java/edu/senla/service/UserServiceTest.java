@@ -14,6 +14,8 @@ import edu.senla.exeption.ConflictBetweenData;
 import edu.senla.exeption.NotFound;
 import edu.senla.service.impl.ClientServiceImpl;
 import edu.senla.service.impl.ValidationServiceImpl;
+import edu.senla.security.PrincipalCache;
+import edu.senla.security.TokenVersionRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -24,7 +26,6 @@ import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -54,11 +55,17 @@ public class UserServiceTest {
     @Mock
     private ContainerService containerService;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
     @Spy
     private ModelMapper mapper;
 
-    @Spy
-    private PasswordEncoder passwordEncoder;
+    @Mock
+    private PasswordHashingService passwordHashingService;
 
     @InjectMocks
     private ClientServiceImpl clientService;
@@ -149,7 +156,7 @@ public class UserServiceTest {
         verify(userRepository, never()).getByPhone(any());
         verify(userRepository, never()).getByUsername(any());
         verify(roleRepository, never()).getByName(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(userRepository, never()).save(any());
     }
 
@@ -166,7 +173,7 @@ public class UserServiceTest {
         verify(userRepository, never()).getByPhone(any());
         verify(userRepository, never()).getByUsername(any());
         verify(roleRepository, never()).getByName(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(userRepository, never()).save(any());
     }
 
@@ -184,7 +191,7 @@ public class UserServiceTest {
         verify(userRepository, never()).getByPhone(any());
         verify(userRepository, never()).getByUsername(any());
         verify(roleRepository, never()).getByName(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(userRepository, never()).save(any());
     }
 
@@ -202,7 +209,7 @@ public class UserServiceTest {
         verify(userRepository, never()).getByPhone(any());
         verify(userRepository, never()).getByUsername(any());
         verify(roleRepository, never()).getByName(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(userRepository, never()).save(any());
     }
 
@@ -221,7 +228,7 @@ public class UserServiceTest {
         verify(userRepository, never()).getByPhone(any());
         verify(userRepository, never()).getByUsername(any());
         verify(roleRepository, never()).getByName(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(userRepository, never()).save(any());
     }
 
@@ -241,7 +248,7 @@ public class UserServiceTest {
         verify(userRepository, never()).getByPhone(any());
         verify(userRepository, never()).getByUsername(any());
         verify(roleRepository, never()).getByName(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(userRepository, never()).save(any());
     }
 
@@ -262,7 +269,7 @@ public class UserServiceTest {
         verify(userRepository, never()).getByPhone(any());
         verify(userRepository, never()).getByUsername(any());
         verify(roleRepository, never()).getByName(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(userRepository, never()).save(any());
     }
 
@@ -283,7 +290,7 @@ public class UserServiceTest {
         verify(userRepository, times(1)).getByPhone(any());
         verify(userRepository, never()).getByUsername(any());
         verify(roleRepository, never()).getByName(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(userRepository, never()).save(any());
     }
 
@@ -305,7 +312,7 @@ public class UserServiceTest {
         verify(userRepository, times(1)).getByPhone(any());
         verify(userRepository, times(1)).getByUsername(any());
         verify(roleRepository, never()).getByName(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(userRepository, never()).save(any());
     }
 
@@ -328,7 +335,7 @@ public class UserServiceTest {
         verify(userRepository, times(1)).getByPhone(any());
         verify(userRepository, times(1)).getByUsername(any());
         verify(roleRepository, never()).getByName(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(passwordHashingService, never()).encode(any());
         verify(userRepository, never()).save(any());
     }
 
@@ -351,7 +358,7 @@ public class UserServiceTest {
         verify(userRepository, times(1)).getByPhone(any());
         verify(userRepository, times(1)).getByUsername(any());
         verify(roleRepository, times(1)).getByName(any());
-        verify(passwordEncoder, times(1)).encode(any());
+        verify(passwordHashingService, times(1)).encode(any());
         verify(userRepository, times(1)).save(any());
     }
 
@@ -372,11 +379,13 @@ public class UserServiceTest {
         User user = new User();
         user.setFirstName("Some name");
         user.setPassword("somePassword");
+        when(userRepository.getPasswordByUsername(any(String.class))).thenReturn(user.getPassword());
         when(userRepository.getByUsername(any(String.class))).thenReturn(user);
-        when(passwordEncoder.matches(any(String.class), any(String.class))).thenReturn(true);
+        when(passwordHashingService.matches(any(String.class), any(String.class))).thenReturn(true);
         UserFullInfoDTO userFullInfoDTO = clientService.getClientByUsernameAndPassword(new String());
+        verify(userRepository, times(1)).getPasswordByUsername(any());
         verify(userRepository, times(1)).getByUsername(any());
-        verify(passwordEncoder, times(1)).matches(any(), any());
+        verify(passwordHashingService, times(1)).matches(any(), any());
         assertEquals(user.getFirstName(), userFullInfoDTO.getFirstName());
         assertEquals(user.getPassword(), userFullInfoDTO.getPassword());
     }
@@ -386,10 +395,11 @@ public class UserServiceTest {
         User user = new User();
         user.setFirstName("Some name");
         user.setPassword("somePassword");
-        when(userRepository.getByUsername(any(String.class))).thenReturn(user);
+        when(userRepository.getPasswordByUsername(any(String.class))).thenReturn(user.getPassword());
         assertThrows(NotFound.class, () -> clientService.getClientByUsernameAndPassword(new String()));
-        verify(userRepository, times(1)).getByUsername(any());
-        verify(passwordEncoder, times(1)).matches(any(), any());
+        verify(userRepository, times(1)).getPasswordByUsername(any());
+        verify(passwordHashingService, times(1)).matches(any(), any());
+        verify(userRepository, never()).getByUsername(any());
     }
 
     @Test
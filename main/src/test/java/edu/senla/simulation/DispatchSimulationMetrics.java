@@ -0,0 +1,100 @@
+package edu.senla.simulation;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class DispatchSimulationMetrics {
+
+    private static final long highestTrackableMicros = TimeUnit.MINUTES.toMicros(10);
+    private static final double microsPerMillisecond = 1000.0;
+
+    private final Histogram orderPlacementLatency = new ConcurrentHistogram(highestTrackableMicros, 3);
+    private final Histogram claimRequestLatency = new ConcurrentHistogram(highestTrackableMicros, 3);
+    private final Histogram assignmentLatency = new ConcurrentHistogram(highestTrackableMicros, 3);
+    private final Histogram deliveryLatency = new ConcurrentHistogram(highestTrackableMicros, 3);
+    private final AtomicLong placedOrders = new AtomicLong();
+    private final AtomicLong deliveredOrders = new AtomicLong();
+    private final AtomicLong emptyClaims = new AtomicLong();
+    private final AtomicLong claimRetries = new AtomicLong();
+    private final AtomicLong conflictingAssignments = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+
+    void recordOrderPlaced(long latencyNanos) {
+        placedOrders.incrementAndGet();
+        orderPlacementLatency.recordValue(toMicros(latencyNanos));
+    }
+
+    void recordClaimRequest(long latencyNanos) {
+        claimRequestLatency.recordValue(toMicros(latencyNanos));
+    }
+
+    void recordAssignment(long latencyNanos) {
+        assignmentLatency.recordValue(toMicros(latencyNanos));
+    }
+
+    void recordDelivery(long latencyNanos) {
+        deliveredOrders.incrementAndGet();
+        deliveryLatency.recordValue(toMicros(latencyNanos));
+    }
+
+    void recordEmptyClaim() {
+        emptyClaims.incrementAndGet();
+    }
+
+    void recordClaimRetry() {
+        claimRetries.incrementAndGet();
+    }
+
+    void recordConflictingAssignment() {
+        conflictingAssignments.incrementAndGet();
+    }
+
+    void recordFailedRequest() {
+        failedRequests.incrementAndGet();
+    }
+
+    long getDeliveredOrders() {
+        return deliveredOrders.get();
+    }
+
+    long getConflictingAssignments() {
+        return conflictingAssignments.get();
+    }
+
+    long getFailedRequests() {
+        return failedRequests.get();
+    }
+
+    void report(PrintStream out, long elapsedNanos, long numberOfStatements) {
+        double elapsedSeconds = elapsedNanos / 1e9;
+        out.printf("Dispatch simulation finished in %.1f s%n", elapsedSeconds);
+        out.printf("  orders placed: %d, delivered: %d, throughput: %.1f deliveries/s%n",
+                placedOrders.get(), deliveredOrders.get(), deliveredOrders.get() / elapsedSeconds);
+        out.printf("  empty claims: %d, claim retries: %d, conflicting assignments: %d, failed requests: %d%n",
+                emptyClaims.get(), claimRetries.get(), conflictingAssignments.get(), failedRequests.get());
+        out.printf("  hibernate statements: %d, per delivered order: %.1f%n",
+                numberOfStatements, deliveredOrders.get() == 0 ? 0 : (double) numberOfStatements / deliveredOrders.get());
+        reportLatency(out, "order placement", orderPlacementLatency);
+        reportLatency(out, "claim request", claimRequestLatency);
+        reportLatency(out, "assignment (placed to claimed)", assignmentLatency);
+        reportLatency(out, "delivery (claimed to closed)", deliveryLatency);
+    }
+
+    private void reportLatency(PrintStream out, String name, Histogram histogram) {
+        out.printf("  %s latency, ms: p50 %.2f, p90 %.2f, p99 %.2f, p99.9 %.2f, max %.2f (%d samples)%n", name,
+                histogram.getValueAtPercentile(50) / microsPerMillisecond,
+                histogram.getValueAtPercentile(90) / microsPerMillisecond,
+                histogram.getValueAtPercentile(99) / microsPerMillisecond,
+                histogram.getValueAtPercentile(99.9) / microsPerMillisecond,
+                histogram.getMaxValue() / microsPerMillisecond,
+                histogram.getTotalCount());
+    }
+
+    private long toMicros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0), highestTrackableMicros);
+    }
+}
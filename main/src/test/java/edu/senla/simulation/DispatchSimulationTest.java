@@ -0,0 +1,273 @@
+package edu.senla.simulation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.senla.dao.CourierRepository;
+import edu.senla.dao.DishRepository;
+import edu.senla.dao.OrderRepository;
+import edu.senla.dao.RoleRepository;
+import edu.senla.dao.TypeOfContainerRepository;
+import edu.senla.dao.UserRepository;
+import edu.senla.model.dto.ContainerComponentsDTO;
+import edu.senla.model.dto.ShoppingCartDTO;
+import edu.senla.model.entity.ContainerType;
+import edu.senla.model.entity.Courier;
+import edu.senla.model.entity.Dish;
+import edu.senla.model.entity.Role;
+import edu.senla.model.entity.User;
+import edu.senla.model.enums.CourierStatus;
+import edu.senla.model.enums.DishType;
+import edu.senla.security.JwtFilter;
+import edu.senla.security.JwtProvider;
+import edu.senla.service.MenuCatalogService;
+import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Drives the courier workflow through the web layer against H2 and reports latency percentiles.
+ * Run with {@code mvn test -Dtest=DispatchSimulationTest -Dsimulation=true}; the load is tuned with
+ * {@code -Dsimulation.clients}, {@code -Dsimulation.couriers} and {@code -Dsimulation.duration} (seconds).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.yml",
+        properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "simulation", matches = "true")
+class DispatchSimulationTest {
+
+    private static final int numberOfClients = Integer.getInteger("simulation.clients", 40);
+    private static final int numberOfCouriers = Integer.getInteger("simulation.couriers", 16);
+    private static final long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("simulation.duration", 30));
+    private static final long emptyClaimBackoffMillis = 5;
+    private static final String containerTypeName = "simulation";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourierRepository courierRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private DishRepository dishRepository;
+
+    @Autowired
+    private TypeOfContainerRepository typeOfContainerRepository;
+
+    @Autowired
+    private MenuCatalogService menuCatalogService;
+
+    private final DispatchSimulationMetrics metrics = new DispatchSimulationMetrics();
+    private final Map<Long, Long> claimedOrders = new ConcurrentHashMap<>();
+    private final Map<String, SimulatedClient> clientsByLastName = new ConcurrentHashMap<>();
+    private final List<Courier> couriers = new ArrayList<>();
+    private final List<Dish> dishes = new ArrayList<>();
+    private ContainerType containerType;
+    private String shoppingCartJson;
+
+    @SneakyThrows
+    @BeforeEach
+    void createSimulationData() {
+        Role role = roleRepository.getByName("ROLE_USER");
+        if (role == null) {
+            role = new Role();
+            role.setName("ROLE_USER");
+            role = roleRepository.save(role);
+        }
+        Map<DishType, Long> dishIds = new EnumMap<>(DishType.class);
+        for (DishType dishType : DishType.values()) {
+            Dish dish = new Dish();
+            dish.setType(dishType);
+            dish.setName("Simulation " + dishType.name().toLowerCase());
+            dishes.add(dishRepository.save(dish));
+            dishIds.put(dishType, dish.getId());
+        }
+        containerType = new ContainerType();
+        containerType.setCaloricContent(999_999);
+        containerType.setName(containerTypeName);
+        containerType.setPrice(10);
+        typeOfContainerRepository.save(containerType);
+        menuCatalogService.rebuildSnapshot();
+        ContainerComponentsDTO container = new ContainerComponentsDTO(containerTypeName,
+                dishIds.get(DishType.MEAT), dishIds.get(DishType.GARNISH), dishIds.get(DishType.SALAD), dishIds.get(DishType.SAUCE));
+        shoppingCartJson = objectMapper.writeValueAsString(new ShoppingCartDTO("cash to courier", null, null, null, List.of(container)));
+        for (int i = 0; i < numberOfClients; i++) {
+            User user = new User();
+            user.setFirstName("Client");
+            user.setLastName("Simulation" + i);
+            user.setPhone(String.format("+37529%07d", i));
+            user.setEmail("simulation" + i + "@test.com");
+            user.setUsername("simulationClient" + i);
+            user.setPassword("password");
+            user.setAddress("Simulation street " + i % 8);
+            user.setRoles(Set.of(role));
+            userRepository.save(user);
+            clientsByLastName.put(user.getLastName(), new SimulatedClient(user, jwtProvider.generateToken(user.getUsername())));
+        }
+        for (int i = 0; i < numberOfCouriers; i++) {
+            Courier courier = new Courier();
+            courier.setFirstName("Courier");
+            courier.setLastName("Simulation");
+            courier.setPhone(String.format("+37544%07d", i));
+            courier.setPassword("password");
+            courier.setStatus(CourierStatus.INACTIVE);
+            couriers.add(courierRepository.save(courier));
+        }
+    }
+
+    @AfterEach
+    void deleteSimulationData() {
+        clientsByLastName.values().forEach(c -> orderRepository.deleteAll(orderRepository.getAllByUser(c.user, Pageable.unpaged())));
+        courierRepository.deleteAll(couriers);
+        userRepository.deleteAll(clientsByLastName.values().stream().map(c -> c.user).toList());
+        dishRepository.deleteAll(dishes);
+        typeOfContainerRepository.delete(containerType);
+    }
+
+    @Test
+    void simulateCourierWorkflow() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfClients + numberOfCouriers);
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        List<Future<?>> participants = new ArrayList<>();
+        clientsByLastName.values().forEach(c -> participants.add(executor.submit(() -> runClient(c, deadline))));
+        couriers.forEach(c -> participants.add(executor.submit(() -> runCourier(c, deadline))));
+        executor.shutdown();
+        for (Future<?> participant : participants) {
+            participant.get(durationNanos + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+        }
+        metrics.report(System.out, System.nanoTime() - start, statistics.getPrepareStatementCount());
+
+        assertTrue(metrics.getDeliveredOrders() > 0);
+        assertEquals(0, metrics.getConflictingAssignments());
+        assertEquals(0, metrics.getFailedRequests());
+    }
+
+    @SneakyThrows
+    private void runClient(SimulatedClient client, long deadline) {
+        while (System.nanoTime() < deadline) {
+            client.placedAt = System.nanoTime();
+            JsonNode response = perform(post("/shoppingCart").contentType(MediaType.APPLICATION_JSON).content(shoppingCartJson), client.token);
+            if (isError(response)) {
+                metrics.recordFailedRequest();
+                continue;
+            }
+            metrics.recordOrderPlaced(System.nanoTime() - client.placedAt);
+            client.deliveries.poll(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @SneakyThrows
+    private void runCourier(Courier courier, long deadline) {
+        String token = jwtProvider.generateToken(courier.getPhone());
+        perform(get("/workflows/status"), token);
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            JsonNode currentOrder;
+            try {
+                currentOrder = perform(put("/workflows/orders"), token);
+            } catch (ConcurrencyFailureException exception) {
+                metrics.recordClaimRetry();
+                continue;
+            }
+            long claimedAt = System.nanoTime();
+            metrics.recordClaimRequest(claimedAt - start);
+            if (isError(currentOrder)) {
+                metrics.recordEmptyClaim();
+                Thread.sleep(emptyClaimBackoffMillis);
+                continue;
+            }
+            for (JsonNode stop : currentOrder.get("stops")) {
+                deliverOrder(courier, token, stop, claimedAt);
+            }
+        }
+    }
+
+    private void deliverOrder(Courier courier, String token, JsonNode stop, long claimedAt) throws Exception {
+        long orderId = stop.get("orderId").asLong();
+        SimulatedClient client = clientsByLastName.get(stop.get("clientLastName").asText());
+        if (claimedOrders.putIfAbsent(orderId, courier.getId()) != null) metrics.recordConflictingAssignment();
+        metrics.recordAssignment(claimedAt - client.placedAt);
+        if (isError(perform(patch("/confirmation/" + orderId), client.token))
+                || isError(perform(patch("/confirmation").param("orderId", String.valueOf(orderId)), token))) {
+            metrics.recordFailedRequest();
+        } else {
+            metrics.recordDelivery(System.nanoTime() - claimedAt);
+        }
+        client.deliveries.offer(orderId);
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request, String token) throws Exception {
+        try {
+            String response = mockMvc.perform(request.header(JwtFilter.AUTHORIZATION, "Bearer " + token))
+                    .andReturn().getResponse().getContentAsString();
+            return response.isEmpty() ? objectMapper.createObjectNode() : objectMapper.readTree(response);
+        } catch (Exception exception) {
+            if (exception.getCause() instanceof ConcurrencyFailureException concurrencyFailure) throw concurrencyFailure;
+            throw exception;
+        }
+    }
+
+    private boolean isError(JsonNode response) {
+        return response.has("message");
+    }
+
+    private static class SimulatedClient {
+
+        private final User user;
+        private final String token;
+        private final BlockingQueue<Long> deliveries = new LinkedBlockingQueue<>();
+        private volatile long placedAt;
+
+        private SimulatedClient(User user, String token) {
+            this.user = user;
+            this.token = token;
+        }
+    }
+}